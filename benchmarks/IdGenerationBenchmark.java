@@ -0,0 +1,168 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Compares insert throughput with IDENTITY ids against pooled sequence ids and JDBC batching, replaying
+ * the statements Hibernate sends in each mode:
+ * <ul>
+ *   <li>identity: one INSERT ... RETURNING id round trip per row (IDENTITY disables batching);</li>
+ *   <li>sequence: one nextval per 50 ids and inserts sent in batches of 50 (hibernate.jdbc.batch_size).</li>
+ * </ul>
+ * Two workloads: address lists (a student's 3 addresses saved in their own transaction, as in addStudent)
+ * and a department import (10,000 names in one transaction).
+ *
+ * Run with the PostgreSQL driver on the class path, against a scratch database:
+ *   mvn -q dependency:copy-dependencies
+ *   java -cp "target/dependency/*" benchmarks/IdGenerationBenchmark.java jdbc:postgresql://localhost:5432/postgres postgres password
+ * The benchmark creates and drops tables and sequences prefixed with bench_.
+ */
+public class IdGenerationBenchmark {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int STUDENTS = 2_000;
+    private static final int ADDRESSES_PER_STUDENT = 3;
+    private static final int DEPARTMENTS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "jdbc:postgresql://localhost:5432/postgres";
+        String user = args.length > 1 ? args[1] : "postgres";
+        String password = args.length > 2 ? args[2] : "password";
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            createSchema(connection);
+            try {
+                // Warm up the server and the driver's prepared statements.
+                addressLists(connection, "identity", 200);
+                addressLists(connection, "sequence", 200);
+
+                report("address lists", "identity", STUDENTS * ADDRESSES_PER_STUDENT, addressLists(connection, "identity", STUDENTS));
+                report("address lists", "sequence", STUDENTS * ADDRESSES_PER_STUDENT, addressLists(connection, "sequence", STUDENTS));
+                report("department import", "identity", DEPARTMENTS, departmentImport(connection, "identity"));
+                report("department import", "sequence", DEPARTMENTS, departmentImport(connection, "sequence"));
+            } finally {
+                dropSchema(connection);
+            }
+        }
+    }
+
+    private static long addressLists(Connection connection, String mode, int students) throws Exception {
+        long begin = System.nanoTime();
+        IdBlock ids = new IdBlock("bench_addresses_seq");
+        for (int s = 0; s < students; s++) {
+            if (mode.equals("identity")) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO bench_identity_addresses (student_id, street, province) VALUES (?, ?, ?) RETURNING id")) {
+                    for (int a = 0; a < ADDRESSES_PER_STUDENT; a++) {
+                        insert.setString(1, "S" + s);
+                        insert.setString(2, "Street " + a);
+                        insert.setString(3, "Province");
+                        try (ResultSet generated = insert.executeQuery()) {
+                            generated.next();
+                        }
+                    }
+                }
+            } else {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO bench_sequence_addresses (id, student_id, street, province) VALUES (?, ?, ?, ?)")) {
+                    for (int a = 0; a < ADDRESSES_PER_STUDENT; a++) {
+                        insert.setLong(1, ids.next(connection));
+                        insert.setString(2, "S" + s);
+                        insert.setString(3, "Street " + a);
+                        insert.setString(4, "Province");
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+            connection.commit();
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static long departmentImport(Connection connection, String mode) throws Exception {
+        long begin = System.nanoTime();
+        if (mode.equals("identity")) {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO bench_identity_departments (name) VALUES (?) RETURNING id")) {
+                for (int i = 0; i < DEPARTMENTS; i++) {
+                    insert.setString(1, "Department " + i);
+                    try (ResultSet generated = insert.executeQuery()) {
+                        generated.next();
+                    }
+                }
+            }
+        } else {
+            IdBlock ids = new IdBlock("bench_departments_seq");
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO bench_sequence_departments (id, name) VALUES (?, ?)")) {
+                for (int i = 0; i < DEPARTMENTS; i++) {
+                    insert.setLong(1, ids.next(connection));
+                    insert.setString(2, "Department " + i);
+                    insert.addBatch();
+                    if ((i + 1) % ALLOCATION_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        }
+        connection.commit();
+        return System.nanoTime() - begin;
+    }
+
+    private static void report(String workload, String mode, int rows, long nanos) {
+        System.out.printf("%-18s %-9s %8d rows  %10.0f inserts/s%n", workload, mode, rows, rows / (nanos / 1e9));
+    }
+
+    private static void createSchema(Connection connection) throws Exception {
+        dropSchema(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE bench_identity_addresses (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                    + " student_id varchar(255) NOT NULL, street varchar(255), province varchar(255))");
+            statement.execute("CREATE TABLE bench_sequence_addresses (id bigint PRIMARY KEY,"
+                    + " student_id varchar(255) NOT NULL, street varchar(255), province varchar(255))");
+            statement.execute("CREATE TABLE bench_identity_departments (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name varchar(255))");
+            statement.execute("CREATE TABLE bench_sequence_departments (id bigint PRIMARY KEY, name varchar(255))");
+            statement.execute("CREATE SEQUENCE bench_addresses_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("CREATE SEQUENCE bench_departments_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.commit();
+    }
+
+    private static void dropSchema(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_identity_addresses, bench_sequence_addresses,"
+                    + " bench_identity_departments, bench_sequence_departments");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_addresses_seq, bench_departments_seq");
+        }
+        connection.commit();
+    }
+
+    /**
+     * Pooled id block: one nextval reserves the ALLOCATION_SIZE ids ending at the returned value.
+     */
+    private static class IdBlock {
+        private final String sequence;
+        private long next = 1;
+        private long high = 0;
+
+        IdBlock(String sequence) {
+            this.sequence = sequence;
+        }
+
+        long next(Connection connection) throws Exception {
+            if (next > high) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT nextval('" + sequence + "')")) {
+                    resultSet.next();
+                    high = resultSet.getLong(1);
+                    next = Math.max(1, high - ALLOCATION_SIZE + 1);
+                }
+            }
+            return next++;
+        }
+    }
+}
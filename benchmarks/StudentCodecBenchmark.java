@@ -0,0 +1,141 @@
+import com.example.sixt.caches.StudentBinaryRedisSerializer;
+import com.example.sixt.commons.Gender;
+import com.example.sixt.models.StudentEntity;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON and binary Redis encodings of cached students: bytes per entry, encode/decode time,
+ * and Redis memory for 1M cached students.
+ *
+ * Build the application and copy its dependencies first:
+ *   mvn -q package -DskipTests && mvn -q dependency:copy-dependencies
+ * Then run with the single-file source launcher:
+ *   java -cp "target/classes:target/dependency/*" benchmarks/StudentCodecBenchmark.java [redis://localhost:6379]
+ * Without a Redis URI, Redis memory is projected from the value sizes instead of measured.
+ * With a URI, the benchmark writes to and then deletes keys under bench:student: on that server.
+ */
+public class StudentCodecBenchmark {
+    private static final int ENTRIES = 1_000_000;
+    private static final int SAMPLE = 10_000;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws Exception {
+        List<StudentEntity> students = new ArrayList<>(SAMPLE);
+        for (int i = 0; i < SAMPLE; i++) {
+            students.add(student(i));
+        }
+
+        run("json", new Jackson2JsonRedisSerializer<>(StudentEntity.class), students, args);
+        run("binary", new StudentBinaryRedisSerializer(-1), students, args);
+        run("binary+lz4", new StudentBinaryRedisSerializer(0), students, args);
+    }
+
+    private static void run(String name, RedisSerializer<?> serializer, List<StudentEntity> students, String[] args) throws Exception {
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> codec = (RedisSerializer<Object>) serializer;
+        long totalBytes = 0;
+        List<byte[]> encoded = new ArrayList<>(students.size());
+        for (StudentEntity student : students) {
+            byte[] bytes = codec.serialize(student);
+            encoded.add(bytes);
+            totalBytes += bytes.length;
+        }
+
+        long encodeNanos = Long.MAX_VALUE;
+        long decodeNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (StudentEntity student : students) {
+                codec.serialize(student);
+            }
+            encodeNanos = Math.min(encodeNanos, (System.nanoTime() - start) / students.size());
+
+            start = System.nanoTime();
+            for (byte[] bytes : encoded) {
+                codec.deserialize(bytes);
+            }
+            decodeNanos = Math.min(decodeNanos, (System.nanoTime() - start) / students.size());
+        }
+
+        double bytesPerEntry = (double) totalBytes / students.size();
+        String memory = args.length > 0
+                ? String.format("%.1f MiB measured", measureRedisMemory(args[0], codec) / 1048576.0)
+                : String.format("%.1f MiB of values projected", bytesPerEntry * ENTRIES / 1048576.0);
+        System.out.printf("%-11s %7.1f bytes/entry  encode %5d ns  decode %5d ns  1M entries: %s%n",
+                name, bytesPerEntry, encodeNanos, decodeNanos, memory);
+    }
+
+    private static long measureRedisMemory(String uri, RedisSerializer<Object> codec) throws Exception {
+        RedisClient client = RedisClient.create(uri);
+        try (StatefulRedisConnection<byte[], byte[]> connection = client.connect(ByteArrayCodec.INSTANCE)) {
+            RedisAsyncCommands<byte[], byte[]> commands = connection.async();
+            long before = usedMemory(connection);
+            connection.setAutoFlushCommands(false);
+            for (int i = 0; i < ENTRIES; i++) {
+                commands.set(key(i), codec.serialize(student(i)));
+                if (i % 1000 == 999) {
+                    connection.flushCommands();
+                }
+            }
+            connection.flushCommands();
+            commands.dbsize().get(1, TimeUnit.MINUTES);
+            long after = usedMemory(connection);
+
+            for (int i = 0; i < ENTRIES; i++) {
+                commands.del(key(i));
+                if (i % 1000 == 999) {
+                    connection.flushCommands();
+                }
+            }
+            connection.flushCommands();
+            commands.dbsize().get(1, TimeUnit.MINUTES);
+            connection.setAutoFlushCommands(true);
+            return after - before;
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static long usedMemory(StatefulRedisConnection<byte[], byte[]> connection) {
+        for (String line : connection.sync().info("memory").split("\r\n")) {
+            if (line.startsWith("used_memory:")) {
+                return Long.parseLong(line.substring("used_memory:".length()));
+            }
+        }
+        throw new IllegalStateException("used_memory missing from INFO");
+    }
+
+    private static byte[] key(int i) {
+        return ("bench:student:" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static StudentEntity student(int i) {
+        StudentEntity student = new StudentEntity();
+        student.setId((long) i + 1);
+        student.setStudentId(String.format("%08d", i));
+        student.setFullName("Nguyen Van " + Integer.toHexString(i * 31));
+        student.setBirthday(new Date(946684800000L + i * 86400000L % 315360000000L));
+        student.setGender(i % 2 == 0 ? Gender.MALE : Gender.FEMALE);
+        student.setDepartment((long) (i % 8) + 1);
+        student.setCourse("K" + (2018 + i % 6));
+        student.setProgram((long) (i % 3) + 1);
+        student.setNationality("Vietnam");
+        student.setEmail("student" + i + "@student.university.edu.vn");
+        student.setPhoneNumber("09" + String.format("%08d", i));
+        student.setStatus((long) (i % 4) + 1);
+        student.setCreatedAt(new Date(1700000000000L + i));
+        student.setUpdatedAt(new Date(1700000000000L + i));
+        return student;
+    }
+}
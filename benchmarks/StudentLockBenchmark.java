@@ -0,0 +1,94 @@
+import com.example.sixt.locks.RedissonStudentLockProvider;
+import com.example.sixt.locks.StripedStudentLockProvider;
+import com.example.sixt.locks.StudentLockProvider;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Measures lock/unlock throughput and latency of the student lock providers under contention:
+ * THREADS threads take the write lock (every WRITE_EVERY-th operation) or the read lock of a random student
+ * among HOT_STUDENTS, so a smaller hot set means more contention.
+ *
+ * Build the application and copy its dependencies first:
+ *   mvn -q package -DskipTests && mvn -q dependency:copy-dependencies
+ * Then run with the single-file source launcher:
+ *   java -cp "target/classes:target/dependency/*" benchmarks/StudentLockBenchmark.java [redis://localhost:6379]
+ * Without a Redis URI only the striped provider is measured.
+ */
+public class StudentLockBenchmark {
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+    private static final int WRITE_EVERY = 5;
+    private static final int[] HOT_STUDENTS = {10, 1_000, 100_000};
+
+    public static void main(String[] args) throws Exception {
+        for (int hotStudents : HOT_STUDENTS) {
+            run("striped", new StripedStudentLockProvider(1024), hotStudents);
+        }
+
+        if (args.length > 0) {
+            Config config = new Config();
+            config.useSingleServer().setAddress(args[0]);
+            RedissonClient redissonClient = Redisson.create(config);
+            try {
+                for (int hotStudents : HOT_STUDENTS) {
+                    run("redisson", new RedissonStudentLockProvider(redissonClient), hotStudents);
+                }
+            } finally {
+                redissonClient.shutdown();
+            }
+        }
+    }
+
+    private static void run(String name, StudentLockProvider provider, int hotStudents) throws Exception {
+        long[][] latencies = new long[THREADS][OPERATIONS_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        int[] failures = new int[THREADS];
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        String studentId = String.format("%08d", random.nextInt(hotStudents));
+                        Lock lock = i % WRITE_EVERY == 0
+                                ? provider.getLock(studentId).writeLock()
+                                : provider.getLock(studentId).readLock();
+                        long begin = System.nanoTime();
+                        if (lock.tryLock(10, TimeUnit.SECONDS)) {
+                            lock.unlock();
+                        } else {
+                            failures[thread]++;
+                        }
+                        latencies[thread][i] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-8s hot=%-7d %9.0f ops/s  p50 %8.1f us  p99 %9.1f us  failed %d%n",
+                name, hotStudents, all.length / (elapsed / 1e9),
+                all[all.length / 2] / 1e3, all[(int) (all.length * 0.99)] / 1e3,
+                Arrays.stream(failures).sum());
+    }
+}
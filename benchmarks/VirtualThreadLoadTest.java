@@ -0,0 +1,147 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test for comparing the default platform-thread mode with the virtual-threads profile.
+ * CLIENTS concurrent clients send requests back to back for DURATION. Most requests read a random
+ * student; every WRITE_EVERY-th request updates one of HOT_STUDENTS students, so writers queue on the
+ * per-student locks and hold request threads while they wait. Prints throughput, p50/p99 latency
+ * and errors.
+ *
+ * Run the application once per mode, with the same database, Redis and lock provider:
+ *   mvn -q -P java21 package -DskipTests
+ *   java -jar target/sixt.jar                                          # platform threads (default)
+ *   java -jar target/sixt.jar --spring.profiles.active=virtual-threads # virtual threads
+ * and for each run, with JDK 21 (the clients themselves are virtual threads):
+ *   java benchmarks/VirtualThreadLoadTest.java http://localhost:8080 <department> <program>
+ * The department and program must exist; students 90000000..90000999 are created on the first run, with
+ * numeric ids so reads take the id lookup path.
+ */
+public class VirtualThreadLoadTest {
+    private static final int CLIENTS = 2_000;
+    private static final Duration DURATION = Duration.ofSeconds(60);
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+    private static final int STUDENTS = 1_000;
+    private static final int HOT_STUDENTS = 20;
+    private static final int WRITE_EVERY = 10;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String department = args.length > 1 ? args[1] : "Law";
+        String program = args.length > 2 ? args[2] : "Formal";
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        createStudents(client, baseUrl, department, program);
+
+        System.out.println("Warming up for " + WARM_UP.toSeconds() + " s");
+        run(client, baseUrl, WARM_UP, false);
+        System.out.println("Measuring " + CLIENTS + " clients for " + DURATION.toSeconds() + " s");
+        run(client, baseUrl, DURATION, true);
+    }
+
+    private static void run(HttpClient client, String baseUrl, Duration duration, boolean print) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        int[] counts = new int[CLIENTS];
+        for (int c = 0; c < CLIENTS; c++) {
+            latencies.add(new long[1 << 12]);
+        }
+
+        long begin = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientNumber = c;
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long[] samples = latencies.get(clientNumber);
+                    int request = 0;
+                    while (running.get()) {
+                        HttpRequest httpRequest = ++request % WRITE_EVERY == 0
+                                ? update(baseUrl, studentId(random.nextInt(HOT_STUDENTS)))
+                                : read(baseUrl, studentId(random.nextInt(STUDENTS)));
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() != 200 || response.body().contains("\"status\":500")) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (counts[clientNumber] < samples.length) {
+                            samples[counts[clientNumber]] = System.nanoTime() - start;
+                        }
+                        counts[clientNumber]++;
+                    }
+                    return null;
+                });
+            }
+            Thread.sleep(duration.toMillis());
+            running.set(false);
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        if (print) {
+            long total = 0;
+            List<Long> all = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                total += counts[c];
+                long[] samples = latencies.get(c);
+                for (int i = 0; i < Math.min(counts[c], samples.length); i++) {
+                    all.add(samples[i]);
+                }
+            }
+            long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%d requests  %.0f req/s  p50 %.1f ms  p99 %.1f ms  errors %d%n",
+                    total, total / (elapsed / 1e9),
+                    sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6,
+                    errors.get());
+        }
+    }
+
+    private static HttpRequest read(String baseUrl, String studentId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/students/search/" + studentId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest update(String baseUrl, String studentId) {
+        String body = "{\"fullName\":\"Load Test " + ThreadLocalRandom.current().nextInt(1_000_000) + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/students/update/" + studentId))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void createStudents(HttpClient client, String baseUrl, String department, String program) throws Exception {
+        for (int i = 0; i < STUDENTS; i++) {
+            String body = "{\"studentId\":\"" + studentId(i) + "\",\"fullName\":\"Load Test " + i + "\","
+                    + "\"department\":\"" + department + "\",\"program\":\"" + program + "\","
+                    + "\"email\":\"load" + i + "@example.com\"}";
+            client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/students/add"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private static String studentId(int number) {
+        return String.format("9%07d", number);
+    }
+}
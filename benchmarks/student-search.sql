@@ -0,0 +1,48 @@
+-- Compares the JPQL LIKE search with the pg_trgm backend on a few million generated students.
+-- Run against a scratch database: psql -U postgres -f benchmarks/student-search.sql
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP TABLE IF EXISTS bench_students;
+CREATE TABLE bench_students (
+    id         bigserial PRIMARY KEY,
+    student_id varchar(255) NOT NULL UNIQUE,
+    full_name  varchar(255)
+);
+
+INSERT INTO bench_students (student_id, full_name)
+SELECT lpad(g::text, 8, '0'),
+       (ARRAY['Nguyen', 'Tran', 'Le', 'Pham', 'Hoang', 'Vu', 'Dang', 'Bui'])[1 + g % 8] || ' '
+           || (ARRAY['Van', 'Thi', 'Minh', 'Duc', 'Ngoc', 'Thanh'])[1 + (g / 8) % 6] || ' '
+           || substr(md5(g::text), 1, 6)
+FROM generate_series(1, 3000000) AS g;
+ANALYZE bench_students;
+
+-- 1. Current query: LOWER(...) LIKE '%kw%' without trigram indexes (sequential scan)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_students s
+WHERE s.student_id LIKE lower('%3f9a1%') OR lower(s.full_name) LIKE lower('%3f9a1%')
+ORDER BY s.student_id LIMIT 51;
+
+-- 2. Same query once the GIN trigram indexes exist (bitmap index scans)
+CREATE INDEX idx_bench_students_full_name_trgm ON bench_students USING gin (lower(full_name) gin_trgm_ops);
+CREATE INDEX idx_bench_students_student_id_trgm ON bench_students USING gin (student_id gin_trgm_ops);
+ANALYZE bench_students;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_students s
+WHERE s.student_id LIKE lower('%3f9a1%') OR lower(s.full_name) LIKE lower('%3f9a1%')
+ORDER BY s.student_id LIMIT 51;
+
+-- 3. Ranked trigram backend (StudentRepository.searchRankedStudentIds)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT ranked.student_id, ranked.score FROM (
+    SELECT s.student_id, GREATEST(similarity(lower(s.full_name), lower('3f9a1')), similarity(s.student_id, '3f9a1')) AS score
+    FROM bench_students s
+    WHERE lower(s.full_name) LIKE lower('%3f9a1%') OR s.student_id LIKE '%3f9a1%'
+) ranked
+ORDER BY ranked.score DESC, ranked.student_id
+LIMIT 51;
+
+DROP TABLE bench_students;
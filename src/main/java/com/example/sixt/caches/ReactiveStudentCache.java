@@ -0,0 +1,78 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.models.StudentEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Non-blocking view of {@link StudentCache} for the reactive read API. It shares the L1 cache, the
+ * {@code student:{id}} entries with their value encoding, and the version-checked fill, so entries written
+ * by either API are visible to the other and invalidations from writes apply to both.
+ */
+@Component
+public class ReactiveStudentCache {
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final RedisSerializer<Object> valueSerializer;
+    private final StudentCache studentCache;
+
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public ReactiveStudentCache(ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
+                                RedisTemplate<String, Object> redisTemplate,
+                                StudentCache studentCache) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.studentCache = studentCache;
+    }
+
+    public Mono<StudentEntity> get(String studentId) {
+        StudentEntity local = studentCache.getLocal(studentId);
+        if (local != null) {
+            return Mono.just(local);
+        }
+        // Read raw bytes: the template cannot map an entry that decodes to null (an older schema version)
+        ByteBuffer key = ByteBuffer.wrap(StudentCache.key(studentId).getBytes(StandardCharsets.UTF_8));
+        return reactiveRedisTemplate.execute(connection -> connection.stringCommands().get(key))
+                .next()
+                .flatMap(value -> Mono.justOrEmpty((StudentEntity) valueSerializer.deserialize(ByteUtils.getBytes(value))))
+                .doOnNext(student -> {
+                    studentCache.recordRedisLookup(true);
+                    studentCache.putLocal(student);
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> studentCache.recordRedisLookup(false)));
+    }
+
+    /**
+     * Caches a student read from the database unless a newer version is already cached.
+     *
+     * @return false if the student was stale and not cached
+     */
+    public Mono<Boolean> put(StudentEntity student) {
+        return reactiveRedisTemplate.execute(StudentCache.FILL_SCRIPT,
+                        List.of(StudentCache.key(student.getStudentId()), StudentCache.versionKey(student.getStudentId())),
+                        List.of(valueSerializer.serialize(student), StudentCache.version(student).getBytes(StandardCharsets.UTF_8),
+                                String.valueOf(studentCache.timeToLive().toMillis()).getBytes(StandardCharsets.UTF_8)),
+                        RedisElementWriter.from(RedisSerializer.byteArray()),
+                        RedisElementReader.from(new GenericToStringSerializer<>(Long.class)))
+                .next()
+                .map(written -> written != 0)
+                .defaultIfEmpty(false)
+                .doOnNext(written -> {
+                    if (written) {
+                        studentCache.putLocal(student);
+                    }
+                });
+    }
+}
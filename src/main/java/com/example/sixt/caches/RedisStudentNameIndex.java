@@ -0,0 +1,220 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.helpers.SearchNormalizer;
+import com.example.sixt.models.StudentEntity;
+import com.example.sixt.repositories.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Secondary index of student full names kept in a single Redis sorted set.
+ * Every normalized name token, and the student id, is stored as a member "token|studentId" with score 0,
+ * so a prefix lookup on a token is one ZRANGEBYLEX instead of a walk over "student:*".
+ * <p>
+ * This index only answers prefix queries: a student matches when every keyword token is a prefix of one
+ * of its name tokens or of its student id, so a keyword in the middle of a token finds nothing. The set is
+ * shared by all nodes and backfilled from the database once; it reports itself complete only after that
+ * backfill, and until then searches go to the database. Writes made while the backfill runs are recorded
+ * and re-read at the end, so a deleted or renamed student is not restored from the backfill's snapshot.
+ */
+@Component
+@ConditionalOnProperty(name = "student.search.name-index", havingValue = "redis")
+public class RedisStudentNameIndex implements StudentNameIndex {
+    private static final String INDEX_KEY = "index:student:name";
+    private static final String COMPLETE_KEY = "index:student:name:complete";
+    private static final String BUILD_KEY = "index:student:name:building";
+    private static final String CHANGED_KEY = "index:student:name:changed";
+    private static final char SEPARATOR = '|';
+    private static final String RANGE_END = "\uffff";
+    private static final int BATCH_SIZE = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final StudentRepository studentRepository;
+    private final Duration buildTimeout;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean complete;
+    private static final Logger log = LoggerFactory.getLogger(RedisStudentNameIndex.class);
+
+    @Autowired
+    public RedisStudentNameIndex(StringRedisTemplate stringRedisTemplate,
+                                 StudentRepository studentRepository,
+                                 @Value("${student.search.redis-index.build-timeout:PT30M}") Duration buildTimeout) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.studentRepository = studentRepository;
+        this.buildTimeout = buildTimeout;
+    }
+
+    /**
+     * Backfills the set from the database unless another node has done so or is doing so.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (isComplete()) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(BUILD_KEY, nodeId, buildTimeout))) {
+            log.info("Student name index is being built by another node");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, String> snapshot = new HashMap<>();
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            for (Object[] row : studentRepository.findAllStudentIdsAndFullNames()) {
+                snapshot.put((String) row[0], (String) row[1]);
+                batch.add((String) row[0]);
+                if (batch.size() == BATCH_SIZE) {
+                    addAll(batch, snapshot);
+                    batch.clear();
+                }
+            }
+            addAll(batch, snapshot);
+
+            // Students written during the backfill may have been indexed from a stale snapshot row
+            Set<String> changed = stringRedisTemplate.opsForSet().members(CHANGED_KEY);
+            if (changed != null && !changed.isEmpty()) {
+                for (String studentId : changed) {
+                    remove(studentId, snapshot.get(studentId));
+                }
+                for (StudentEntity student : studentRepository.findAllByStudentIdIn(changed)) {
+                    add(student.getStudentId(), student.getFullName());
+                }
+            }
+
+            stringRedisTemplate.opsForValue().set(COMPLETE_KEY, String.valueOf(System.currentTimeMillis()));
+            complete = true;
+            log.info("Student name index built with {} students in {} ms", snapshot.size(), System.currentTimeMillis() - start);
+        } finally {
+            stringRedisTemplate.delete(List.of(BUILD_KEY, CHANGED_KEY));
+        }
+    }
+
+    @Override
+    public void add(String studentId, String fullName) {
+        Set<ZSetOperations.TypedTuple<String>> members = new HashSet<>();
+        for (String member : members(studentId, fullName)) {
+            members.add(ZSetOperations.TypedTuple.of(member, 0d));
+        }
+        if (!members.isEmpty()) {
+            stringRedisTemplate.opsForZSet().add(INDEX_KEY, members);
+        }
+    }
+
+    @Override
+    public void remove(String studentId, String fullName) {
+        recordChangeDuringBuild(studentId);
+        Set<String> members = members(studentId, fullName);
+        if (!members.isEmpty()) {
+            stringRedisTemplate.opsForZSet().remove(INDEX_KEY, members.toArray());
+        }
+    }
+
+    @Override
+    public void replace(String studentId, String oldFullName, String newFullName) {
+        if (oldFullName != null && oldFullName.equals(newFullName)) {
+            return;
+        }
+        remove(studentId, oldFullName);
+        add(studentId, newFullName);
+    }
+
+    @Override
+    public boolean isComplete() {
+        if (!complete) {
+            complete = Boolean.TRUE.equals(stringRedisTemplate.hasKey(COMPLETE_KEY));
+        }
+        return complete;
+    }
+
+    /**
+     * Returns the ids of students with, for every token of the keyword, a name token or student id starting
+     * with that token.
+     */
+    @Override
+    public Set<String> search(String keyword) {
+        Set<String> result = null;
+        for (String token : tokenize(keyword)) {
+            Set<String> members = stringRedisTemplate.opsForZSet()
+                    .rangeByLex(INDEX_KEY, Range.closed(token, token + RANGE_END));
+            Set<String> studentIds = new HashSet<>();
+            if (members != null) {
+                for (String member : members) {
+                    studentIds.add(member.substring(member.lastIndexOf(SEPARATOR) + 1));
+                }
+            }
+            if (result == null) {
+                result = studentIds;
+            } else {
+                result.retainAll(studentIds);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result != null ? result : new HashSet<>();
+    }
+
+    private void addAll(List<String> studentIds, Map<String, String> names) {
+        Set<ZSetOperations.TypedTuple<String>> members = new HashSet<>();
+        for (String studentId : studentIds) {
+            for (String member : members(studentId, names.get(studentId))) {
+                members.add(ZSetOperations.TypedTuple.of(member, 0d));
+            }
+        }
+        if (!members.isEmpty()) {
+            stringRedisTemplate.opsForZSet().add(INDEX_KEY, members);
+        }
+    }
+
+    private void recordChangeDuringBuild(String studentId) {
+        if (!complete && studentId != null && Boolean.TRUE.equals(stringRedisTemplate.hasKey(BUILD_KEY))) {
+            stringRedisTemplate.opsForSet().add(CHANGED_KEY, studentId);
+        }
+    }
+
+    private Set<String> members(String studentId, String fullName) {
+        Set<String> members = new LinkedHashSet<>();
+        if (studentId == null) {
+            return members;
+        }
+        Set<String> tokens = tokenize(studentId);
+        if (fullName != null) {
+            tokens.addAll(tokenize(fullName));
+        }
+        for (String token : tokens) {
+            members.add(token + SEPARATOR + studentId);
+        }
+        return members;
+    }
+
+    private Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SearchNormalizer.normalize(text).split(" ")) {
+            token = token.replace(String.valueOf(SEPARATOR), "");
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
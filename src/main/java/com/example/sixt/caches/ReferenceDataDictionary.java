@@ -0,0 +1,246 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.models.DepartmentEntity;
+import com.example.sixt.models.ProgramEntity;
+import com.example.sixt.models.StudentStatusEntity;
+import com.example.sixt.repositories.DepartmentRepository;
+import com.example.sixt.repositories.ProgramRepository;
+import com.example.sixt.repositories.StudentStatusRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * In-memory, bidirectional id/name dictionary for departments, programs and student statuses.
+ * Readers see an immutable snapshot; writers replace it with a new version after every change,
+ * so lookups never hit the database. A lookup miss reloads once, which picks up rows added by
+ * other nodes, and a periodic refresh picks up renames made elsewhere. Keys still missing after
+ * that reload are remembered in the snapshot, so a bogus name or a dangling id costs one reload
+ * per snapshot version instead of one per lookup.
+ */
+@Component
+public class ReferenceDataDictionary {
+    private final DepartmentRepository departmentRepository;
+    private final ProgramRepository programRepository;
+    private final StudentStatusRepository studentStatusRepository;
+    private static final int MAX_MISSING_KEYS = 10_000;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataDictionary.class);
+
+    @Autowired
+    public ReferenceDataDictionary(DepartmentRepository departmentRepository,
+                                   ProgramRepository programRepository,
+                                   StudentStatusRepository studentStatusRepository) {
+        this.departmentRepository = departmentRepository;
+        this.programRepository = programRepository;
+        this.studentStatusRepository = studentStatusRepository;
+    }
+
+    /**
+     * Reloads all three tables. Serialized with a {@link ReentrantLock} rather than {@code synchronized},
+     * which would pin the carrier thread of a virtual thread for the duration of the queries.
+     */
+    @Scheduled(fixedDelayString = "${reference-data.refresh-interval-ms:60000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            reload();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public long version() {
+        return current().version;
+    }
+
+    public String departmentName(Long id) {
+        return name(id, tables -> tables.departments);
+    }
+
+    public Long departmentId(String name) {
+        return id(name, tables -> tables.departments);
+    }
+
+    public String programName(Long id) {
+        return name(id, tables -> tables.programs);
+    }
+
+    public Long programId(String name) {
+        return id(name, tables -> tables.programs);
+    }
+
+    public String statusName(Long id) {
+        return name(id, tables -> tables.statuses);
+    }
+
+    public Long statusId(String name) {
+        return id(name, tables -> tables.statuses);
+    }
+
+    /**
+     * Whether the current snapshot names the given department, program and status without a reload. Callers
+     * that must not block, such as the reactive read API, check this and reload off their thread first.
+     */
+    public boolean hasNames(Long departmentId, Long programId, Long statusId) {
+        Snapshot current = snapshot;
+        return current != null
+                && current.departments.knowsId(departmentId)
+                && current.programs.knowsId(programId)
+                && current.statuses.knowsId(statusId);
+    }
+
+    /**
+     * Makes {@link #hasNames} true for the given ids. If the current snapshot lacks any of them it reloads once,
+     * shared with concurrent misses on the same snapshot, and remembers the ids still unknown, so a later
+     * lookup does not reload again. Blocks while reloading; non-blocking callers run it off their thread.
+     */
+    public void loadNames(Collection<Long> departmentIds, Collection<Long> programIds, Collection<Long> statusIds) {
+        Snapshot current = snapshot;
+        if (current != null && current.departments.knowsIds(departmentIds)
+                && current.programs.knowsIds(programIds) && current.statuses.knowsIds(statusIds)) {
+            return;
+        }
+        Snapshot loaded = reloadAfterMiss(current);
+        loaded.departments.rememberMissingIds(departmentIds);
+        loaded.programs.rememberMissingIds(programIds);
+        loaded.statuses.rememberMissingIds(statusIds);
+    }
+
+    private String name(Long id, Function<Snapshot, Names> table) {
+        if (id == null) {
+            return null;
+        }
+        Snapshot current = current();
+        Names names = table.apply(current);
+        String name = names.namesById.get(id);
+        if (name == null && !names.missingIds.contains(id)) {
+            names = table.apply(reloadAfterMiss(current));
+            name = names.namesById.get(id);
+            if (name == null) {
+                names.rememberMissing(names.missingIds, id);
+            }
+        }
+        return name;
+    }
+
+    private Long id(String name, Function<Snapshot, Names> table) {
+        if (name == null) {
+            return null;
+        }
+        Snapshot current = current();
+        Names names = table.apply(current);
+        Long id = names.idsByName.get(name);
+        if (id == null && !names.missingNames.contains(name)) {
+            names = table.apply(reloadAfterMiss(current));
+            id = names.idsByName.get(name);
+            if (id == null) {
+                names.rememberMissing(names.missingNames, name);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Reloads after a lookup miss unless another thread already replaced the snapshot the miss was seen in,
+     * so concurrent misses share one reload.
+     */
+    private Snapshot reloadAfterMiss(Snapshot seen) {
+        refreshLock.lock();
+        try {
+            if (snapshot == seen) {
+                reload();
+            }
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void reload() {
+        long version = snapshot != null ? snapshot.version + 1 : 1;
+        snapshot = new Snapshot(version,
+                new Names(departmentRepository.findAll(), DepartmentEntity::getId, DepartmentEntity::getName),
+                new Names(programRepository.findAll(), ProgramEntity::getId, ProgramEntity::getName),
+                new Names(studentStatusRepository.findAll(), StudentStatusEntity::getId, StudentStatusEntity::getName));
+        log.debug("Reference data dictionary refreshed to version {}", version);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final Names departments;
+        private final Names programs;
+        private final Names statuses;
+
+        private Snapshot(long version, Names departments, Names programs, Names statuses) {
+            this.version = version;
+            this.departments = departments;
+            this.programs = programs;
+            this.statuses = statuses;
+        }
+    }
+
+    private static final class Names {
+        private final Map<Long, String> namesById;
+        private final Map<String, Long> idsByName;
+        private final Set<Long> missingIds = ConcurrentHashMap.newKeySet();
+        private final Set<String> missingNames = ConcurrentHashMap.newKeySet();
+
+        private <T> Names(Iterable<T> rows, Function<T, Long> idGetter, Function<T, String> nameGetter) {
+            Map<Long, String> namesById = new HashMap<>();
+            Map<String, Long> idsByName = new HashMap<>();
+            for (T row : rows) {
+                String name = nameGetter.apply(row);
+                if (name != null) {
+                    namesById.put(idGetter.apply(row), name);
+                    idsByName.putIfAbsent(name, idGetter.apply(row));
+                }
+            }
+            this.namesById = Map.copyOf(namesById);
+            this.idsByName = Map.copyOf(idsByName);
+        }
+
+        boolean knowsId(Long id) {
+            return id == null || namesById.containsKey(id) || missingIds.contains(id);
+        }
+
+        boolean knowsIds(Collection<Long> ids) {
+            return ids.stream().allMatch(this::knowsId);
+        }
+
+        void rememberMissingIds(Collection<Long> ids) {
+            for (Long id : ids) {
+                if (id != null && !namesById.containsKey(id)) {
+                    rememberMissing(missingIds, id);
+                }
+            }
+        }
+
+        // Bounded so that a flood of bogus names cannot grow the snapshot without limit
+        <K> void rememberMissing(Set<K> missing, K key) {
+            if (missing.size() < MAX_MISSING_KEYS) {
+                missing.add(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.commons.Gender;
+import com.example.sixt.models.StudentEntity;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Compact binary Redis encoding for cached {@link StudentEntity} values.
+ * <p>
+ * Layout: one format byte ({@link #FORMAT_PLAIN} or {@link #FORMAT_LZ4}), one schema version byte, then the
+ * fields in a fixed order. LZ4 payloads are prefixed with their uncompressed length. Values whose encoded
+ * size reaches the compression threshold are compressed when that makes them smaller. Values written by the
+ * previous JSON serializer start with '{' and are still readable, so existing cache entries survive a rollout;
+ * values with an older schema version decode as a cache miss.
+ */
+public class StudentBinaryRedisSerializer implements RedisSerializer<Object> {
+    static final byte FORMAT_PLAIN = 1;
+    static final byte FORMAT_LZ4 = 2;
+    static final byte SCHEMA_VERSION = 2;
+    private static final int HEADER_SIZE = 2;
+
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+    private final StudentJsonRedisSerializer legacySerializer = new StudentJsonRedisSerializer();
+
+    /**
+     * @param compressionThreshold encoded size in bytes from which LZ4 is tried; a negative value disables compression
+     */
+    public StudentBinaryRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!(value instanceof StudentEntity)) {
+            throw new SerializationException("Cannot encode " + value.getClass().getName() + " as a student");
+        }
+
+        byte[] fields = writeFields((StudentEntity) value);
+        if (compressionThreshold >= 0 && fields.length >= compressionThreshold) {
+            byte[] compressed = new byte[HEADER_SIZE + 4 + compressor.maxCompressedLength(fields.length)];
+            int compressedLength = compressor.compress(fields, 0, fields.length, compressed, HEADER_SIZE + 4);
+            if (compressedLength + 4 < fields.length) {
+                compressed[0] = FORMAT_LZ4;
+                compressed[1] = SCHEMA_VERSION;
+                writeInt(compressed, HEADER_SIZE, fields.length);
+                return Arrays.copyOf(compressed, HEADER_SIZE + 4 + compressedLength);
+            }
+        }
+
+        byte[] plain = new byte[HEADER_SIZE + fields.length];
+        plain[0] = FORMAT_PLAIN;
+        plain[1] = SCHEMA_VERSION;
+        System.arraycopy(fields, 0, plain, HEADER_SIZE, fields.length);
+        return plain;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == '{') {
+            return legacySerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("Truncated cached student");
+        }
+        if (bytes[1] != SCHEMA_VERSION) {
+            return null;
+        }
+
+        byte[] fields;
+        if (bytes[0] == FORMAT_PLAIN) {
+            fields = Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length);
+        } else if (bytes[0] == FORMAT_LZ4) {
+            fields = new byte[readInt(bytes, HEADER_SIZE)];
+            decompressor.decompress(bytes, HEADER_SIZE + 4, fields, 0, fields.length);
+        } else {
+            throw new SerializationException("Unknown cached student format: " + bytes[0]);
+        }
+        return readFields(fields);
+    }
+
+    private byte[] writeFields(StudentEntity student) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(160);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            writeLong(out, student.getId());
+            writeString(out, student.getStudentId());
+            writeString(out, student.getFullName());
+            writeString(out, student.getFullNameSearch());
+            writeDate(out, student.getBirthday());
+            writeString(out, student.getGender() != null ? student.getGender().name() : null);
+            writeLong(out, student.getDepartment());
+            writeString(out, student.getCourse());
+            writeLong(out, student.getProgram());
+            writeString(out, student.getNationality());
+            writeString(out, student.getEmail());
+            writeString(out, student.getPhoneNumber());
+            writeLong(out, student.getStatus());
+            writeDate(out, student.getCreatedAt());
+            writeDate(out, student.getUpdatedAt());
+            writeLong(out, student.getVersion());
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode student", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private StudentEntity readFields(byte[] fields) {
+        StudentEntity student = new StudentEntity();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(fields))) {
+            student.setId(readLong(in));
+            student.setStudentId(readString(in));
+            student.setFullName(readString(in));
+            student.setFullNameSearch(readString(in));
+            student.setBirthday(readDate(in));
+            String gender = readString(in);
+            student.setGender(gender != null ? Gender.valueOf(gender) : null);
+            student.setDepartment(readLong(in));
+            student.setCourse(readString(in));
+            student.setProgram(readLong(in));
+            student.setNationality(readString(in));
+            student.setEmail(readString(in));
+            student.setPhoneNumber(readString(in));
+            student.setStatus(readLong(in));
+            student.setCreatedAt(readDate(in));
+            student.setUpdatedAt(readDate(in));
+            student.setVersion(readLong(in));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Cannot decode cached student", e);
+        }
+        return student;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, Date value) throws IOException {
+        writeLong(out, value != null ? value.getTime() : null);
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        Long time = readLong(in);
+        return time != null ? new Date(time) : null;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16)
+                | ((bytes[offset + 2] & 0xff) << 8) | (bytes[offset + 3] & 0xff);
+    }
+}
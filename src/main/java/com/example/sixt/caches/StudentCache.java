@@ -0,0 +1,225 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.models.StudentEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Two-tier cache for students keyed by student id: a bounded in-process Caffeine cache (L1) in front of
+ * the shared {@code student:{id}} Redis entries (L2). Writes publish the student id on
+ * {@link #INVALIDATION_CHANNEL} so every other node drops its L1 copy. Hits and misses are reported
+ * per tier as {@code cache.gets} with {@code cache=student.l1} or {@code cache=student.l2}.
+ * <p>
+ * Readers take no locks. Instead every entry is stamped with the student's JPA version in
+ * {@code student:{id}:ver}, and a fill is written only if no newer version is stored, or the same version
+ * is stored without a value. A reader that loaded a row just before a concurrent write therefore cannot
+ * overwrite the newer entry. Deletes leave a short-lived version tombstone so that in-flight fills of the
+ * deleted row are rejected as well. Writers call {@link #add}, {@link #update} and {@link #evict} only after
+ * their transaction commits, so a stamped version always belongs to a committed row. Entries and version
+ * keys expire together after {@code student.cache.ttl}, which bounds the life of anything left behind when
+ * an after-commit update fails.
+ */
+@Component
+public class StudentCache {
+    public static final String INVALIDATION_CHANNEL = "student:invalidate";
+    private static final String KEY_PREFIX = "student:";
+    private static final String VERSION_SUFFIX = ":ver";
+    private static final String MESSAGE_SEPARATOR = "|";
+    // KEYS: value, version; ARGV: value, version, ttl in ms. Writes unless a newer version is stored,
+    // or the same version is stored together with its value.
+    static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+            local stored = tonumber(redis.call('GET', KEYS[2]) or '-1')
+            local version = tonumber(ARGV[2])
+            if stored > version or (stored == version and redis.call('EXISTS', KEYS[1]) == 1) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, StudentEntity> localCache;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Duration timeToLive;
+    private final Duration tombstoneTimeToLive;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    public StudentCache(RedisTemplate<String, Object> redisTemplate,
+                        StringRedisTemplate stringRedisTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${student.cache.local.maximum-size:10000}") long maximumSize,
+                        @Value("${student.cache.local.expire-after-write:PT5M}") Duration expireAfterWrite,
+                        @Value("${student.cache.ttl:PT24H}") Duration timeToLive,
+                        @Value("${student.cache.tombstone-ttl:PT1M}") Duration tombstoneTimeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.timeToLive = timeToLive;
+        this.tombstoneTimeToLive = tombstoneTimeToLive;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "student.l1");
+        this.redisHits = Counter.builder("cache.gets").tag("cache", "student.l2").tag("result", "hit").register(meterRegistry);
+        this.redisMisses = Counter.builder("cache.gets").tag("cache", "student.l2").tag("result", "miss").register(meterRegistry);
+    }
+
+    public StudentEntity get(String studentId) {
+        return getAll(List.of(studentId)).get(studentId);
+    }
+
+    /**
+     * Returns the cached students among {@code studentIds}, keyed by student id. L1 misses are fetched
+     * from Redis with a single MGET and kept locally.
+     */
+    public Map<String, StudentEntity> getAll(List<String> studentIds) {
+        Map<String, StudentEntity> students = new HashMap<>(localCache.getAllPresent(studentIds));
+        List<String> missingIds = studentIds.stream()
+                .filter(id -> !students.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+        if (missingIds.isEmpty()) {
+            return students;
+        }
+
+        List<String> keys = missingIds.stream().map(id -> KEY_PREFIX + id).collect(Collectors.toList());
+        List<Object> cachedStudents = redisTemplate.opsForValue().multiGet(keys);
+        int hits = 0;
+        for (int i = 0; i < missingIds.size(); i++) {
+            StudentEntity student = cachedStudents != null ? (StudentEntity) cachedStudents.get(i) : null;
+            if (student != null) {
+                localCache.put(student.getStudentId(), student);
+                students.put(student.getStudentId(), student);
+                hits++;
+            }
+        }
+        redisHits.increment(hits);
+        redisMisses.increment(missingIds.size() - hits);
+        return students;
+    }
+
+    /**
+     * Caches a student read from the database unless a newer version is already cached. No invalidation is
+     * sent because other nodes can only hold the same or an older version.
+     *
+     * @return false if the student was stale and not cached
+     */
+    public boolean put(StudentEntity student) {
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        Long written = redisTemplate.execute(FILL_SCRIPT, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                List.of(KEY_PREFIX + student.getStudentId(), versionKey(student.getStudentId())),
+                valueSerializer.serialize(student), version(student).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(timeToLive.toMillis()).getBytes(StandardCharsets.UTF_8));
+        if (written == null || written == 0) {
+            return false;
+        }
+        localCache.put(student.getStudentId(), student);
+        return true;
+    }
+
+    /**
+     * Caches a newly created student, replacing any tombstone left by an earlier student with the same id.
+     */
+    public void add(StudentEntity student) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + student.getStudentId(), student, timeToLive);
+        stringRedisTemplate.opsForValue().set(versionKey(student.getStudentId()), version(student), timeToLive);
+        localCache.put(student.getStudentId(), student);
+    }
+
+    /**
+     * Caches a changed student and tells the other nodes to drop their stale L1 copy.
+     */
+    public void update(StudentEntity student) {
+        put(student);
+        publishInvalidation(student.getStudentId());
+    }
+
+    /**
+     * Removes a deleted student and stores a version tombstone above its last version, so fills of the
+     * deleted row that are still in flight are rejected.
+     */
+    public void evict(StudentEntity student) {
+        String studentId = student.getStudentId();
+        redisTemplate.delete(KEY_PREFIX + studentId);
+        stringRedisTemplate.opsForValue().set(versionKey(studentId),
+                String.valueOf(Long.parseLong(version(student)) + 1), tombstoneTimeToLive);
+        localCache.invalidate(studentId);
+        publishInvalidation(studentId);
+    }
+
+    /**
+     * Key of the cached student, shared with {@link ReactiveStudentCache}.
+     */
+    static String key(String studentId) {
+        return KEY_PREFIX + studentId;
+    }
+
+    /**
+     * Key holding the version of the cached student, shared with caches of data derived from it.
+     */
+    public static String versionKey(String studentId) {
+        return KEY_PREFIX + studentId + VERSION_SUFFIX;
+    }
+
+    /**
+     * Handles a message from {@link #INVALIDATION_CHANNEL}; messages published by this node are ignored.
+     */
+    public void onInvalidation(String message) {
+        int separator = message.indexOf(MESSAGE_SEPARATOR);
+        if (separator < 0 || nodeId.equals(message.substring(0, separator))) {
+            return;
+        }
+        localCache.invalidate(message.substring(separator + 1));
+    }
+
+    StudentEntity getLocal(String studentId) {
+        return localCache.getIfPresent(studentId);
+    }
+
+    void putLocal(StudentEntity student) {
+        localCache.put(student.getStudentId(), student);
+    }
+
+    Duration timeToLive() {
+        return timeToLive;
+    }
+
+    void recordRedisLookup(boolean hit) {
+        (hit ? redisHits : redisMisses).increment();
+    }
+
+    // Entries written before versioning count as version 0
+    static String version(StudentEntity student) {
+        return String.valueOf(student.getVersion() != null ? student.getVersion() : 0L);
+    }
+
+    private void publishInvalidation(String studentId) {
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + MESSAGE_SEPARATOR + studentId);
+    }
+}
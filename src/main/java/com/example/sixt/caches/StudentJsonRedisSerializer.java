@@ -0,0 +1,26 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.models.StudentEntity;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * JSON Redis encoding for cached {@link StudentEntity} values. Entries cached before the
+ * {@code fullNameSearch} column existed have no search name; it is derived from the full name on read, so
+ * name matching on cached students does not depend on when the entry was written.
+ */
+public class StudentJsonRedisSerializer extends Jackson2JsonRedisSerializer<StudentEntity> {
+
+    public StudentJsonRedisSerializer() {
+        super(StudentEntity.class);
+    }
+
+    @Override
+    public StudentEntity deserialize(byte[] bytes) throws SerializationException {
+        StudentEntity student = super.deserialize(bytes);
+        if (student != null && student.getFullNameSearch() == null && student.getFullName() != null) {
+            student.setFullName(student.getFullName());
+        }
+        return student;
+    }
+}
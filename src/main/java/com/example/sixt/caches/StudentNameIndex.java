@@ -0,0 +1,32 @@
+package com.example.sixt.caches;
+
+import java.util.Set;
+
+/**
+ * Secondary index used by the student name search to find matching student ids
+ * without scanning the cache keyspace or running a LIKE query. Writers update it
+ * after their transaction commits.
+ */
+public interface StudentNameIndex {
+    void add(String studentId, String fullName);
+    void remove(String studentId, String fullName);
+    void replace(String studentId, String oldFullName, String newFullName);
+
+    /**
+     * Whether the index holds every student. Only a complete index can answer a search on its own; a
+     * partial one would silently drop matches and cut pagination short.
+     */
+    boolean isComplete();
+
+    /**
+     * Whether the index can answer this normalized keyword efficiently; other keywords go to the database.
+     */
+    default boolean supports(String keyword) {
+        return true;
+    }
+
+    /**
+     * Returns the ids of the students matching the keyword, as defined by the implementation.
+     */
+    Set<String> search(String keyword);
+}
@@ -0,0 +1,72 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.controllers.responses.StudentResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Fully assembled {@link StudentResponse} aggregates (student, addresses, identity document and resolved
+ * reference names), stored in Redis as the JSON sent to clients under {@code student-response:{id}}.
+ * Entries are evicted by every student write once it commits; the TTL bounds staleness after a
+ * department, program or status rename. Fills are skipped when {@link StudentCache#versionKey} holds a newer student version,
+ * so an aggregate assembled just before a write is not cached after the write's eviction.
+ */
+@Component
+public class StudentResponseCache {
+    private static final String KEY_PREFIX = "student-response:";
+    // KEYS: response, student version; ARGV: json, version, ttl in ms. Writes unless a newer version is stored.
+    private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+            local stored = tonumber(redis.call('GET', KEYS[2]) or '-1')
+            if stored > tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration timeToLive;
+
+    @Autowired
+    public StudentResponseCache(StringRedisTemplate stringRedisTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${student.cache.response-ttl:PT10M}") Duration timeToLive) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.timeToLive = timeToLive;
+    }
+
+    public String get(String studentId) {
+        return stringRedisTemplate.opsForValue().get(KEY_PREFIX + studentId);
+    }
+
+    /**
+     * Serializes and caches the aggregate unless the student has a newer version, returning the JSON.
+     */
+    public String put(StudentResponse student) {
+        try {
+            String json = objectMapper.writeValueAsString(student);
+            long version = student.getVersion() != null ? student.getVersion() : 0L;
+            stringRedisTemplate.execute(FILL_SCRIPT,
+                    List.of(KEY_PREFIX + student.getStudentId(), StudentCache.versionKey(student.getStudentId())),
+                    json, String.valueOf(version), String.valueOf(timeToLive.toMillis()));
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize student " + student.getStudentId(), e);
+        }
+    }
+
+    public void evict(String studentId) {
+        stringRedisTemplate.delete(KEY_PREFIX + studentId);
+    }
+}
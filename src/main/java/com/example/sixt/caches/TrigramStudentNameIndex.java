@@ -0,0 +1,275 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.helpers.SearchNormalizer;
+import com.example.sixt.repositories.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram inverted index over normalized student full names and student ids.
+ * Each student is a document with a stable int id; every trigram maps to a sorted
+ * int posting list, so a "contains" query is an intersection of a few int arrays
+ * followed by a check of the surviving candidates. Keywords shorter than a trigram
+ * have no posting list to use and are left to the database.
+ */
+@Component
+@ConditionalOnProperty(name = "student.search.name-index", havingValue = "trigram", matchIfMissing = true)
+public class TrigramStudentNameIndex implements StudentNameIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StudentRepository studentRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+    private final Map<String, Integer> documentsByStudentId = new HashMap<>();
+    private final Deque<Integer> freeDocuments = new ArrayDeque<>();
+    private String[] studentIds = new String[INITIAL_CAPACITY];
+    private String[] searchIds = new String[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int documentCount;
+    // Students added or removed while build() loads its snapshot; their live entries are newer than the snapshot
+    private Set<String> writtenDuringBuild;
+    private volatile boolean ready;
+    private static final Logger log = LoggerFactory.getLogger(TrigramStudentNameIndex.class);
+
+    @Autowired
+    public TrigramStudentNameIndex(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            writtenDuringBuild = new HashSet<>(documentsByStudentId.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Object[]> rows = studentRepository.findAllStudentIdsAndFullNames();
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                if (!writtenDuringBuild.contains((String) row[0])) {
+                    addDocument((String) row[0], (String) row[1]);
+                }
+            }
+            writtenDuringBuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Student name index built with {} students in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void add(String studentId, String fullName) {
+        if (studentId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            recordWriteDuringBuild(studentId);
+            addDocument(studentId, fullName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String studentId, String fullName) {
+        if (studentId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            recordWriteDuringBuild(studentId);
+            Integer document = documentsByStudentId.remove(studentId);
+            if (document != null) {
+                removeDocument(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replace(String studentId, String oldFullName, String newFullName) {
+        add(studentId, newFullName);
+    }
+
+    @Override
+    public boolean isComplete() {
+        return ready;
+    }
+
+    @Override
+    public boolean supports(String keyword) {
+        return keyword != null && SearchNormalizer.normalize(keyword).length() >= GRAM_LENGTH;
+    }
+
+    @Override
+    public Set<String> search(String keyword) {
+        Set<String> result = new HashSet<>();
+        if (!ready || !supports(keyword)) {
+            return result;
+        }
+        String query = SearchNormalizer.normalize(keyword);
+
+        lock.readLock().lock();
+        try {
+            Set<Long> grams = trigrams(query);
+            IntPostingList[] lists = new IntPostingList[grams.size()];
+            int i = 0;
+            for (Long gram : grams) {
+                IntPostingList list = postings.get(gram);
+                if (list == null) {
+                    return result;
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            int[] candidates = Arrays.copyOf(lists[0].values, lists[0].size);
+            int count = candidates.length;
+            for (int l = 1; l < lists.length && count > 0; l++) {
+                int kept = 0;
+                for (int c = 0; c < count; c++) {
+                    if (lists[l].contains(candidates[c])) {
+                        candidates[kept++] = candidates[c];
+                    }
+                }
+                count = kept;
+            }
+
+            for (int c = 0; c < count; c++) {
+                if (matches(candidates[c], query)) {
+                    result.add(studentIds[candidates[c]]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void recordWriteDuringBuild(String studentId) {
+        if (writtenDuringBuild != null) {
+            writtenDuringBuild.add(studentId);
+        }
+    }
+
+    private boolean matches(int document, String query) {
+        return (names[document] != null && names[document].contains(query))
+                || searchIds[document].contains(query);
+    }
+
+    private void addDocument(String studentId, String fullName) {
+        Integer existing = documentsByStudentId.get(studentId);
+        int document;
+        if (existing != null) {
+            removeDocument(existing);
+            document = freeDocuments.pop();
+        } else {
+            document = freeDocuments.isEmpty() ? documentCount++ : freeDocuments.pop();
+        }
+        if (document >= studentIds.length) {
+            int capacity = Math.max(studentIds.length * 2, document + 1);
+            studentIds = Arrays.copyOf(studentIds, capacity);
+            searchIds = Arrays.copyOf(searchIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+
+        studentIds[document] = studentId;
+        searchIds[document] = studentId.toLowerCase();
+        names[document] = SearchNormalizer.normalize(fullName);
+        documentsByStudentId.put(studentId, document);
+        for (Long gram : documentTrigrams(document)) {
+            postings.computeIfAbsent(gram, key -> new IntPostingList()).add(document);
+        }
+    }
+
+    private void removeDocument(int document) {
+        for (Long gram : documentTrigrams(document)) {
+            IntPostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(document);
+                if (list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        studentIds[document] = null;
+        searchIds[document] = null;
+        names[document] = null;
+        freeDocuments.push(document);
+    }
+
+    private Set<Long> documentTrigrams(int document) {
+        Set<Long> grams = trigrams(searchIds[document]);
+        if (names[document] != null) {
+            grams.addAll(trigrams(names[document]));
+        }
+        return grams;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Growable, sorted array of document ids.
+     */
+    private static final class IntPostingList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = value;
+            size++;
+        }
+
+        void remove(int value) {
+            int position = Arrays.binarySearch(values, 0, size, value);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            size--;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+}
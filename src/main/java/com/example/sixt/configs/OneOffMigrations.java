@@ -0,0 +1,64 @@
+package com.example.sixt.configs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Applies each script in {@code classpath:db/migrations/} once per database, in file name order, and records
+ * it in {@code schema_migrations}. Unlike the scripts run by {@code spring.sql.init} on every startup, these
+ * may drop or rewrite schema objects. Each script runs in its own transaction under a table lock, so nodes
+ * starting together apply it once.
+ */
+@Component
+public class OneOffMigrations implements ApplicationRunner {
+    private static final String LOCATION = "classpath:db/migrations/*.sql";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private static final Logger log = LoggerFactory.getLogger(OneOffMigrations.class);
+
+    @Autowired
+    public OneOffMigrations(DataSource dataSource, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations ("
+                + "name varchar(255) PRIMARY KEY, applied_at timestamp NOT NULL DEFAULT now())");
+
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+        for (Resource script : scripts) {
+            String name = script.getFilename();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("LOCK TABLE schema_migrations IN EXCLUSIVE MODE");
+                Integer applied = jdbcTemplate.queryForObject("SELECT count(*) FROM schema_migrations WHERE name = ?", Integer.class, name);
+                if (applied != null && applied == 0) {
+                    ScriptUtils.executeSqlScript(DataSourceUtils.getConnection(dataSource), script);
+                    jdbcTemplate.update("INSERT INTO schema_migrations (name) VALUES (?)", name);
+                    log.info("Applied migration {}", name);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.sixt.configs;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC client for the reactive read API. The connection pool is kept out of the context on purpose: an
+ * {@code io.r2dbc.spi.ConnectionFactory} bean would make Spring Boot back off from the JDBC DataSource that
+ * JPA and every other service use, which is also why the R2DBC auto-configuration is excluded. It connects
+ * to the same database as the DataSource, derived from {@code spring.datasource.url} unless
+ * {@code student.reactive.r2dbc.url} is set.
+ */
+@Configuration
+public class R2dbcConfig {
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(@Value("${student.reactive.r2dbc.url:}") String url,
+                                                 @Value("${spring.datasource.url}") String jdbcUrl,
+                                                 @Value("${spring.datasource.username}") String username,
+                                                 @Value("${spring.datasource.password}") String password,
+                                                 @Value("${student.reactive.r2dbc.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.isBlank() ? r2dbcUrl(jdbcUrl) : url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    // jdbc:postgresql://host:5432/db becomes r2dbc:postgresql://host:5432/db
+    static String r2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalStateException("Cannot derive an R2DBC URL from " + jdbcUrl + ", set student.reactive.r2dbc.url");
+        }
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
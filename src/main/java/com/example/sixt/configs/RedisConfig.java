@@ -1,18 +1,28 @@
 package com.example.sixt.configs;
 
-import com.example.sixt.models.StudentEntity;
+import com.example.sixt.caches.StudentBinaryRedisSerializer;
+import com.example.sixt.caches.StudentCache;
+import com.example.sixt.caches.StudentJsonRedisSerializer;
 import org.redisson.api.RedissonClient;
 import org.redisson.Redisson;
 import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
+
 @Configuration
 @EnableCaching
 public class RedisConfig {
@@ -23,14 +33,48 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate() {
+    public RedisTemplate<String, Object> redisTemplate(@Value("${student.cache.codec:binary}") String codec,
+                                                       @Value("${student.cache.compression-threshold:512}") int compressionThreshold) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(redisConnectionFactory());
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(StudentEntity.class));
+        if ("json".equals(codec)) {
+            template.setValueSerializer(new StudentJsonRedisSerializer());
+        } else {
+            template.setValueSerializer(new StudentBinaryRedisSerializer(compressionThreshold));
+        }
         return template;
     }
 
+    /**
+     * Reactive counterpart of {@link #redisTemplate} with the same key and value encoding, so both read and
+     * write the same {@code student:{id}} entries.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(RedisTemplate<String, Object> redisTemplate) {
+        @SuppressWarnings("unchecked")
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(valueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>((LettuceConnectionFactory) redisConnectionFactory(), serializationContext);
+    }
+
+    @Bean
+    public StringRedisTemplate stringRedisTemplate() {
+        return new StringRedisTemplate(redisConnectionFactory());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(StudentCache studentCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        container.addMessageListener((message, pattern) -> studentCache.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(StudentCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+
     @Bean
     public RedissonClient redissonClient() {
         Config config = new Config();
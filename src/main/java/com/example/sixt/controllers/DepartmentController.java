@@ -2,38 +2,40 @@ package com.example.sixt.controllers;
 
 import com.example.sixt.controllers.requests.DepartmentCreationRequest;
 import com.example.sixt.controllers.requests.ProgramCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
 import com.example.sixt.exceptions.InvalidDataException;
 import com.example.sixt.models.DepartmentEntity;
 import com.example.sixt.models.ProgramEntity;
 import com.example.sixt.services.DepartmentService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/departments")
 public class DepartmentController {
     private final DepartmentService departmentService;
-    private final ObjectMapper objectMapper;
     private static final Logger log = LoggerFactory.getLogger(DepartmentController.class);
 
     @Autowired
-    public DepartmentController(DepartmentService departmentService, ObjectMapper objectMapper) {
+    public DepartmentController(DepartmentService departmentService) {
         this.departmentService = departmentService;
-        this.objectMapper = objectMapper;
     }
 
     @PutMapping("/{id}")
@@ -127,13 +129,23 @@ public class DepartmentController {
     @PostMapping(value = "/import/csv", consumes = "multipart/form-data")
     public Map<String, Object> importCsv(@RequestParam("file") MultipartFile file) {
         try {
-            departmentService.importCsv(file);
+            ImportReport report = departmentService.importCsv(file);
             Map<String, Object> response = new HashMap<>();
             response.put("status", "200");
-            response.put("message", "Import CSV successfully!");
-            response.put("data", 1);
+            response.put("message", "Imported " + report.getImported() + " of " + report.getTotalRows() + " departments");
+            response.put("data", report);
             return response;
-        } catch (Exception e) {
+        }
+        catch (InvalidDataException e) {
+            log.error("Error importing departments: {}", e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+            return response;
+        }
+        catch (Exception e) {
+            log.error("Error importing departments: {}", e.getMessage());
             Map<String, Object> response = new HashMap<>();
             response.put("status", "500");
             response.put("message", e.getMessage());
@@ -143,28 +155,20 @@ public class DepartmentController {
     }
 
     // Export CSV
-    @GetMapping(value = "/export/csv", produces = "text/csv;charset=ISO-8859-1")
-    public Map<String, Object> exportCsv(HttpServletResponse response) {
-        try {
-            response.setContentType("text/csv");
-            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=departments.csv");
-            departmentService.exportCsv(response);
-
-            Map<String, Object> responseBody = new HashMap<>();
-            responseBody.put("status", "200");
-            responseBody.put("message", "Export CSV successfully!");
-            responseBody.put("data", 1);
-
-            return responseBody;
-        }
-        catch (IOException e) {
-            Map<String, Object> responseBody = new HashMap<>();
-            responseBody.put("status", "500");
-            responseBody.put("message", e.getMessage());
-            responseBody.put("data", 0);
-
-            return responseBody;
-        }
+    @GetMapping(value = "/export/csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            departmentService.exportCsv(writer);
+            writer.flush();
+            if (gzip) {
+                ((GZIPOutputStream) out).finish();
+            }
+        };
+        return exportResponse(body, new MediaType("text", "csv", StandardCharsets.UTF_8), "departments.csv", gzip);
     }
 
     @PostMapping(value = "/import/json", consumes = "multipart/form-data")
@@ -172,14 +176,18 @@ public class DepartmentController {
             @RequestParam("file") MultipartFile file) {
         Map<String, Object> response = new HashMap<>();
         try {
-            List<DepartmentEntity> departments = objectMapper.readValue(file.getInputStream(), new TypeReference<List<DepartmentEntity>>() {});
-
-            departmentService.saveAll(departments);
+            ImportReport report = departmentService.importJson(file);
 
             response.put("status", "200");
-            response.put("message", "Import JSON successfully!");
-            response.put("data", departments.size());
+            response.put("message", "Imported " + report.getImported() + " of " + report.getTotalRows() + " departments");
+            response.put("data", report);
+        } catch (InvalidDataException e) {
+            log.error("Error importing departments: {}", e.getMessage());
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            response.put("data", 0);
         } catch (Exception e) {
+            log.error("Error importing departments: {}", e.getMessage());
             response.put("status", "500");
             response.put("message", e.getMessage());
             response.put("data", 0);
@@ -187,21 +195,65 @@ public class DepartmentController {
         return response;
     }
 
-    @GetMapping("/export/json")
-    public ResponseEntity<byte[]> exportJson() {
-        try {
-            List<DepartmentEntity> departments = departmentService.getAllDepartments();
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            byte[] jsonData = objectMapper.writeValueAsBytes(departments);
+    @GetMapping(value = "/export/json", produces = "application/json")
+    public ResponseEntity<StreamingResponseBody> exportJson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream out = new GZIPOutputStream(outputStream, 8192);
+                departmentService.exportJson(out);
+                out.finish();
+            } else {
+                departmentService.exportJson(outputStream);
+            }
+        };
+        return exportResponse(body, MediaType.APPLICATION_JSON, "departments.json", gzip);
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=departments.json");
-            headers.add(HttpHeaders.CONTENT_TYPE, "application/json");
+    /**
+     * Whether an Accept-Encoding header allows gzip: an explicit {@code gzip} entry decides by its q-value,
+     * otherwise a {@code *} entry does, so {@code gzip;q=0} and {@code *;q=0} both rule it out.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
 
-            return new ResponseEntity<>(jsonData, headers, HttpStatus.OK);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+    private ResponseEntity<StreamingResponseBody> exportResponse(StreamingResponseBody body, MediaType contentType,
+                                                                 String filename, boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
         }
+        return response.body(body);
     }
 }
@@ -0,0 +1,251 @@
+package com.example.sixt.controllers;
+
+import com.example.sixt.controllers.responses.ExportJobResponse;
+import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.services.ExportJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/v1/exports")
+@Tag(name = "Export Job Controller")
+public class ExportJobController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final ExportJobService exportJobService;
+    private final ObjectMapper objectMapper;
+    private static final Logger log = LoggerFactory.getLogger(ExportJobController.class);
+
+    @Autowired
+    public ExportJobController(ExportJobService exportJobService, ObjectMapper objectMapper) {
+        this.exportJobService = exportJobService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping
+    public Map<String, Object> startExport(@RequestParam String dataset,
+                                           @RequestParam(defaultValue = "csv") String format) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        try {
+            ExportJobResponse job = exportJobService.startExport(dataset, format);
+            response.put("status", HttpStatus.ACCEPTED.value());
+            response.put("message", "Export job started");
+            response.put("data", job);
+        }
+        catch (InvalidDataException e) {
+            response.put("status", HttpStatus.BAD_REQUEST.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
+        }
+        catch (RejectedExecutionException e) {
+            response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.put("message", "Too many export jobs, try again later");
+            response.put("data", 0);
+
+            log.error("Export job rejected: {}", dataset);
+        }
+        catch (Exception e) {
+            response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.put("message", "Error starting export job");
+            response.put("data", 0);
+
+            log.error("Error starting export job: {}", e.getMessage());
+        }
+        return response;
+    }
+
+    @GetMapping("/{jobId}")
+    public Map<String, Object> getJob(@PathVariable String jobId) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        try {
+            response.put("status", HttpStatus.OK.value());
+            response.put("message", "Export job fetched successfully");
+            response.put("data", exportJobService.getJob(jobId));
+        }
+        catch (InvalidDataException e) {
+            response.put("status", HttpStatus.NOT_FOUND.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+        }
+        return response;
+    }
+
+    /**
+     * Serves a completed export, honouring a single-range {@code Range} header (and {@code If-Range}
+     * against the job's ETag) so interrupted downloads can resume. When the connector supports it the
+     * file is handed to Tomcat's sendfile; otherwise it is copied with {@link FileChannel#transferTo}.
+     * A job still queued or running is answered with 202 and a failed one with 409, both with the job
+     * in the body; a file removed by the retention cleanup is answered with 410.
+     */
+    @GetMapping("/{jobId}/download")
+    public void download(@PathVariable String jobId,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        ExportJobResponse job;
+        Path file;
+        try {
+            job = exportJobService.getJob(jobId);
+            if (!COMPLETED.equals(job.getStatus())) {
+                writeJobStatus(response, job);
+                return;
+            }
+            file = exportJobService.getJobFile(jobId);
+        }
+        catch (InvalidDataException e) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), e.getMessage());
+            return;
+        }
+
+        try {
+            sendFile(job, file, request, response);
+        }
+        catch (NoSuchFileException e) {
+            log.error("Export file of job {} is gone", jobId);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpStatus.GONE.value(), "Export job has expired");
+            }
+        }
+    }
+
+    private void sendFile(ExportJobResponse job, Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = Files.size(file);
+        String etag = "\"" + job.getJobId() + "\"";
+        long start = 0;
+        long end = size - 1;
+
+        long[] bounds = requestedRange(request.getHeader(HttpHeaders.RANGE), request.getHeader(HttpHeaders.IF_RANGE), etag, size);
+        if (bounds != null && bounds.length == 0) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        if (bounds != null) {
+            start = bounds[0];
+            end = bounds[1];
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(job.getFormat().equals("json") ? "application/json" : "text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getDataset() + "." + job.getFormat());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentLengthLong(length);
+        if (length <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private void writeJobStatus(HttpServletResponse response, ExportJobResponse job) throws IOException {
+        boolean failed = FAILED.equals(job.getStatus());
+        HttpStatus status = failed ? HttpStatus.CONFLICT : HttpStatus.ACCEPTED;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("message", failed ? "Export job failed" : "Export job is not completed yet");
+        body.put("data", job);
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Bounds of the part to send: null for the whole file, as when there is no {@code Range} header or
+     * {@code If-Range} names another version, otherwise the result of {@link #parseRange}.
+     */
+    static long[] requestedRange(String range, String ifRange, String etag, long size) {
+        if (range == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        return parseRange(range, size);
+    }
+
+    /**
+     * Parses a {@code bytes=} range into inclusive bounds. Returns null when the header should be ignored
+     * (malformed or multiple ranges, which are answered with the whole file) and an empty array when the
+     * range cannot be satisfied.
+     */
+    static long[] parseRange(String range, long size) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+            if (end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return new long[0];
+            }
+            return new long[]{start, Math.min(end, size - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
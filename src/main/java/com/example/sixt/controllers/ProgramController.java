@@ -1,6 +1,7 @@
 package com.example.sixt.controllers;
 
 import com.example.sixt.controllers.requests.ProgramCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
 import com.example.sixt.exceptions.InvalidDataException;
 import com.example.sixt.models.ProgramEntity;
 import com.example.sixt.services.ProgramService;
@@ -8,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -109,4 +111,33 @@ public class ProgramController {
             return response;
         }
     }
+
+    // Import CSV
+    @PostMapping(value = "/import/csv", consumes = "multipart/form-data")
+    public Map<String, Object> importCsv(@RequestParam("file") MultipartFile file) {
+        try {
+            ImportReport report = programService.importCsv(file);
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "200");
+            response.put("message", "Imported " + report.getImported() + " of " + report.getTotalRows() + " programs");
+            response.put("data", report);
+            return response;
+        }
+        catch (InvalidDataException e) {
+            log.error("Error importing programs: {}", e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "400");
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+            return response;
+        }
+        catch (Exception e) {
+            log.error("Error importing programs: {}", e.getMessage());
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "500");
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+            return response;
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.sixt.controllers;
+
+import com.example.sixt.controllers.responses.StudentResponse;
+import com.example.sixt.services.ReactiveStudentService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only student endpoints served without holding a request thread: handlers return {@link Mono} and
+ * {@link Flux}, which Spring MVC completes asynchronously as R2DBC and Redis results arrive. Stream
+ * endpoints emit NDJSON and only read further rows as the client consumes them.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/students")
+@Tag(name = "Reactive Student Controller")
+public class ReactiveStudentController {
+    private final ReactiveStudentService reactiveStudentService;
+    private static final Logger log = LoggerFactory.getLogger(ReactiveStudentController.class);
+
+    public ReactiveStudentController(ReactiveStudentService reactiveStudentService) {
+        this.reactiveStudentService = reactiveStudentService;
+    }
+
+    @GetMapping("/{studentId}")
+    public Mono<Map<String, Object>> findStudent(@PathVariable String studentId) {
+        return reactiveStudentService.findStudent(studentId)
+                .map(student -> {
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("status", HttpStatus.OK.value());
+                    response.put("message", "Student found");
+                    response.put("data", student);
+                    return response;
+                })
+                .defaultIfEmpty(notFound(studentId))
+                .onErrorResume(e -> {
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    response.put("message", e.getMessage());
+                    response.put("data", 0);
+
+                    log.error(e.getMessage());
+
+                    return Mono.just(response);
+                });
+    }
+
+    @GetMapping(value = "/search/{keyword}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentResponse> streamStudents(@PathVariable String keyword) {
+        return reactiveStudentService.streamStudents(keyword)
+                .doOnError(e -> log.error(e.getMessage()));
+    }
+
+    @GetMapping(value = "/search-by-department-and-name", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentResponse> streamStudents(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = true) String department) {
+        return reactiveStudentService.streamStudentsByDepartmentAndName(keyword, department)
+                .doOnError(e -> log.error(e.getMessage()));
+    }
+
+    private static Map<String, Object> notFound(String studentId) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", HttpStatus.NOT_FOUND.value());
+        response.put("message", "Student " + studentId + " not found");
+        response.put("data", 0);
+        return response;
+    }
+}
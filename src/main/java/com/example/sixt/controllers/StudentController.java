@@ -2,20 +2,41 @@ package com.example.sixt.controllers;
 
 import com.example.sixt.controllers.requests.StudentCreationRequest;
 import com.example.sixt.controllers.requests.StudentUpdateRequest;
+import com.example.sixt.controllers.responses.ImportReport;
+import com.example.sixt.controllers.responses.StudentPageResponse;
 import com.example.sixt.controllers.responses.StudentResponse;
+import com.example.sixt.exceptions.BadRequestException;
 import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.exceptions.PreconditionFailedException;
 import com.example.sixt.models.StudentEntity;
+import com.example.sixt.services.StudentImportService;
 import com.example.sixt.services.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
-
-
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,11 +46,17 @@ import java.util.Map;
 @Tag(name = "Student Controller")
 @Validated
 public class StudentController {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
+    private final ObjectMapper objectMapper;
     private static final Logger log = LoggerFactory.getLogger(StudentController.class);
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, StudentImportService studentImportService, ObjectMapper objectMapper) {
         this.studentService = studentService;
+        this.studentImportService = studentImportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/add")
@@ -69,9 +96,10 @@ public class StudentController {
     }
 
     @DeleteMapping("/delete/{studentId}")
-    public Map<String, Object> deleteStudent(@PathVariable String studentId) {
+    public Map<String, Object> deleteStudent(@PathVariable String studentId,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            studentService.deleteStudent(studentId);
+            studentService.deleteStudent(studentId, parseIfMatch(ifMatch));
 
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("status", HttpStatus.OK.value());
@@ -92,6 +120,26 @@ public class StudentController {
 
             return response;
         }
+        catch (BadRequestException e) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", HttpStatus.BAD_REQUEST.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
+
+            return response;
+        }
+        catch (PreconditionFailedException e) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", HttpStatus.PRECONDITION_FAILED.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
+
+            return response;
+        }
         catch (Exception e) {
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -105,9 +153,11 @@ public class StudentController {
     }
 
     @PatchMapping("/update/{studentId}")
-    public Map<String, Object> updateStudent(@PathVariable String studentId, @RequestBody @Valid StudentUpdateRequest student) {
+    public Map<String, Object> updateStudent(@PathVariable String studentId,
+                                             @RequestBody @Valid StudentUpdateRequest student,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            StudentResponse studentResponse = studentService.updateStudent(studentId, student);
+            StudentResponse studentResponse = studentService.updateStudent(studentId, student, parseIfMatch(ifMatch));
 
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("status", HttpStatus.CREATED.value());
@@ -128,6 +178,26 @@ public class StudentController {
 
             return response;
         }
+        catch (BadRequestException e) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", HttpStatus.BAD_REQUEST.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
+
+            return response;
+        }
+        catch (PreconditionFailedException e) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", HttpStatus.PRECONDITION_FAILED.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
+
+            return response;
+        }
         catch (Exception e) {
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -141,16 +211,45 @@ public class StudentController {
     }
 
     @GetMapping("/search/{keyword}")
-    public Map<String, Object> searchStudents(@PathVariable String keyword) {
+    public Map<String, Object> searchStudents(
+            @PathVariable String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
         try {
-            List<StudentResponse> StudentResponses = studentService.searchStudents(keyword);
+            if ((cursor == null || cursor.isEmpty()) && keyword.matches("\\d+")) {
+                // Lookup by student id: the cached aggregate JSON is copied into the response as is
+                String student = studentService.findStudentJson(keyword);
+                List<RawValue> items = student != null ? List.of(new RawValue(student)) : List.of();
+
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("status", HttpStatus.OK.value());
+                response.put("message", "Found " + items.size() + " students");
+                response.put("data", items);
+                response.put("nextCursor", null);
+
+                log.info("Found " + items.size() + " students");
+
+                return response;
+            }
+
+            StudentPageResponse page = studentService.searchStudents(keyword, cursor, limit);
 
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("status", HttpStatus.OK.value());
-            response.put("message", "Found " + StudentResponses.size() + " students");
-            response.put("data", StudentResponses);
+            response.put("message", "Found " + page.getItems().size() + " students");
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
 
-            log.info("Found " + StudentResponses.size() + " students");
+            log.info("Found " + page.getItems().size() + " students");
+
+            return response;
+        } catch (InvalidDataException e) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", HttpStatus.BAD_REQUEST.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
 
             return response;
         } catch (Exception e) {
@@ -168,16 +267,28 @@ public class StudentController {
     @GetMapping("/search-by-department-and-name")
     public Map<String, Object> searchStudents(
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = true) String department) {
+            @RequestParam(required = true) String department,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
         try {
-            List<StudentResponse> StudentResponses = studentService.searchStudentsByDepartmentAndName(keyword, department);
+            StudentPageResponse page = studentService.searchStudentsByDepartmentAndName(keyword, department, cursor, limit);
 
             Map<String, Object> response = new LinkedHashMap<>();
             response.put("status", HttpStatus.OK.value());
-            response.put("message", "Found " + StudentResponses.size() + " students");
-            response.put("data", StudentResponses);
+            response.put("message", "Found " + page.getItems().size() + " students");
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
 
-            log.info("Found " + StudentResponses.size() + " students");
+            log.info("Found " + page.getItems().size() + " students");
+
+            return response;
+        } catch (InvalidDataException e) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", HttpStatus.BAD_REQUEST.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
 
             return response;
         } catch (Exception e) {
@@ -191,4 +302,122 @@ public class StudentController {
             return response;
         }
     }
+
+    @GetMapping(value = "/export/csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            studentService.exportStudentsCsv(writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=students.csv")
+                .body(body);
+    }
+
+    @PostMapping(value = "/import/csv", consumes = "multipart/form-data")
+    public Map<String, Object> importCsv(@RequestParam("file") MultipartFile file) {
+        return importStudents(file, studentImportService::importCsv);
+    }
+
+    @PostMapping(value = "/import/json", consumes = "multipart/form-data")
+    public Map<String, Object> importJson(@RequestParam("file") MultipartFile file) {
+        return importStudents(file, studentImportService::importJson);
+    }
+
+    @GetMapping(value = "/search/{keyword}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStudents(@PathVariable String keyword) {
+        StreamingResponseBody body = outputStream -> {
+            studentService.streamStudents(keyword, student -> writeLine(outputStream, student));
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/search-by-department-and-name", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> streamStudents(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = true) String department) {
+        // Resolved up front: once the body starts streaming the status is already committed as 200
+        Long departmentId;
+        try {
+            departmentId = studentService.findDepartmentId(department);
+        } catch (InvalidDataException e) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", HttpStatus.BAD_REQUEST.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
+
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            studentService.streamStudentsByDepartmentAndName(keyword, departmentId, student -> writeLine(outputStream, student));
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private Map<String, Object> importStudents(MultipartFile file, StudentImporter importer) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        try (InputStream input = file.getInputStream()) {
+            ImportReport report = importer.importFrom(input);
+            response.put("status", HttpStatus.OK.value());
+            response.put("message", "Imported " + report.getImported() + " of " + report.getTotalRows() + " students");
+            response.put("data", report);
+
+            log.info("Imported {} of {} students", report.getImported(), report.getTotalRows());
+        }
+        catch (InvalidDataException e) {
+            response.put("status", HttpStatus.BAD_REQUEST.value());
+            response.put("message", e.getMessage());
+            response.put("data", 0);
+
+            log.error(e.getMessage());
+        }
+        catch (Exception e) {
+            response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.put("message", "Error importing students");
+            response.put("data", 0);
+
+            log.error("Error importing students: {}", e.getMessage());
+        }
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface StudentImporter {
+        ImportReport importFrom(InputStream input) throws IOException;
+    }
+
+    /**
+     * Reads the expected student version from an If-Match header such as {@code "3"} or {@code W/"3"}.
+     * A missing header or {@code *} means the write is unconditional.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("If-Match must be a student version.");
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, StudentResponse student) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(student));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.example.sixt.controllers.responses;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first {@link #MAX_ERRORS} row errors are listed; {@code failed}
+ * counts all of them, so a large file full of bad rows does not grow the report without bound.
+ */
+public class ImportReport {
+    public static final int MAX_ERRORS = 1000;
+
+    private long totalRows;
+
+    private long imported;
+
+    private long skipped;
+
+    private long failed;
+
+    private List<ImportRowError> errors = new ArrayList<>();
+
+    public void addError(long row, String key, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ImportRowError(row, key, message));
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+}
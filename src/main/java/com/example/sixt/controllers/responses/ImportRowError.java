@@ -0,0 +1,42 @@
+package com.example.sixt.controllers.responses;
+
+public class ImportRowError {
+    private long row;
+
+    private String key;
+
+    private String message;
+
+    public ImportRowError() {
+    }
+
+    public ImportRowError(long row, String key, String message) {
+        this.row = row;
+        this.key = key;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.sixt.controllers.responses;
+
+import java.util.List;
+
+public class StudentPageResponse {
+    private List<StudentResponse> items;
+
+    private String nextCursor;
+
+    public StudentPageResponse() {
+    }
+
+    public StudentPageResponse(List<StudentResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<StudentResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StudentResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
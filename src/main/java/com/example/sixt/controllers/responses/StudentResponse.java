@@ -43,6 +43,8 @@ public class StudentResponse {
 
     private Date updatedAt;
 
+    private Long version;
+
     List<AddressEntity> addresses;
     IdentityDocumentEntity identityDocument;
 
@@ -173,4 +175,12 @@ public class StudentResponse {
     public void setIdentityDocument(IdentityDocumentEntity identityDocument) {
         this.identityDocument = identityDocument;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
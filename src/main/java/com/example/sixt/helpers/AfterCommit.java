@@ -0,0 +1,37 @@
+package com.example.sixt.helpers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects of a write, such as cache and index updates, until its transaction has committed, so
+ * other readers never see them for rows that are not visible yet or were rolled back. Without an active
+ * transaction the action runs at once. The write has already succeeded when the action runs, so a failing
+ * action is logged rather than reported to the caller.
+ */
+public class AfterCommit {
+    private static final Logger log = LoggerFactory.getLogger(AfterCommit.class);
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runLogged(action);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runLogged(action);
+            }
+        });
+    }
+
+    private static void runLogged(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("After-commit action failed: " + e.getMessage(), e);
+        }
+    }
+}
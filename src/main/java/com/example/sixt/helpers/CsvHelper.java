@@ -7,10 +7,12 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 public class CsvHelper {
+    private static final String[] STUDENT_HEADERS = {"ID", "StudentID", "FullName", "Email", "Faculty", "Status"};
+
     public static String studentsToCsv(List<StudentEntity> students) {
         final StringWriter out = new StringWriter();
         try (CSVPrinter csvPrinter = new CSVPrinter(out, CSVFormat.DEFAULT
-                .withHeader("ID", "StudentID", "FullName", "Email", "Faculty", "Status"))) {
+                .withHeader(STUDENT_HEADERS))) {
             for (StudentEntity student : students) {
                 csvPrinter.printRecord(
                         student.getId(),
@@ -26,4 +28,11 @@ public class CsvHelper {
         }
         return out.toString();
     }
+
+    /**
+     * Returns a printer with the student export header that writes records straight to the writer.
+     */
+    public static CSVPrinter studentCsvPrinter(Writer writer) throws IOException {
+        return new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(STUDENT_HEADERS).build());
+    }
 }
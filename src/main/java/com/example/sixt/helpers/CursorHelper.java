@@ -0,0 +1,30 @@
+package com.example.sixt.helpers;
+
+import com.example.sixt.exceptions.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors for paginated student searches. A cursor wraps the student id
+ * of the last row of a page; the next page starts strictly after it.
+ */
+public class CursorHelper {
+    public static String encode(String lastStudentId) {
+        if (lastStudentId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastStudentId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return "";
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.sixt.locks;
+
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Cluster-wide locks backed by Redisson {@code RReadWriteLock}s under {@code lock:student:{id}}. Held locks
+ * are kept alive by Redisson's watchdog and expire if the holding node dies.
+ */
+@Component
+@ConditionalOnProperty(name = "student.lock.provider", havingValue = "redisson", matchIfMissing = true)
+public class RedissonStudentLockProvider implements StudentLockProvider {
+    private final RedissonClient redissonClient;
+
+    @Autowired
+    public RedissonStudentLockProvider(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    @Override
+    public ReadWriteLock getLock(String studentId) {
+        return redissonClient.getReadWriteLock("lock:student:" + studentId);
+    }
+}
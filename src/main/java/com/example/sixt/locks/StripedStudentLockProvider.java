@@ -0,0 +1,35 @@
+package com.example.sixt.locks;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-JVM locks for single-node deployments: a fixed array of {@link ReentrantReadWriteLock}s, with each
+ * student mapped to a stripe by the hash of its id. Students sharing a stripe also share the lock, which
+ * only costs some extra contention. Does not coordinate across nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "student.lock.provider", havingValue = "local")
+public class StripedStudentLockProvider implements StudentLockProvider {
+    private final ReentrantReadWriteLock[] stripes;
+    private final int mask;
+
+    public StripedStudentLockProvider(@Value("${student.lock.stripes:1024}") int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantReadWriteLock();
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public ReadWriteLock getLock(String studentId) {
+        int hash = studentId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.sixt.locks;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Per-student locks serializing writers of the same student; reads do not lock and rely on versioned
+ * cache fills instead (see {@code StudentCache}). Selected with {@code student.lock.provider}.
+ */
+public interface StudentLockProvider {
+    ReadWriteLock getLock(String studentId);
+}
@@ -12,7 +12,8 @@ import lombok.Setter;
 public class AddressEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.ADDRESSES)
+  @SequenceGenerator(name = IdSequences.ADDRESSES, sequenceName = IdSequences.ADDRESSES, allocationSize = IdSequences.ALLOCATION_SIZE)
   private Long id;
 
   @Column(name = "student_id", nullable = false)
@@ -11,7 +11,8 @@ import lombok.Setter;
 public class DepartmentEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.DEPARTMENTS)
+  @SequenceGenerator(name = IdSequences.DEPARTMENTS, sequenceName = IdSequences.DEPARTMENTS, allocationSize = IdSequences.ALLOCATION_SIZE)
   private Long id;
 
   private String name;
@@ -0,0 +1,22 @@
+package com.example.sixt.models;
+
+/**
+ * Database sequences behind the entity ids. Ids are taken from the pooled optimizer: one nextval reserves
+ * the block of {@link #ALLOCATION_SIZE} ids ending at the returned value, so Hibernate can assign ids
+ * up front and batch inserts. Anything inserting rows outside Hibernate must reserve ids the same way
+ * (see {@code SequenceIdAllocator}). Changing the allocation size requires the same change to the
+ * sequences' INCREMENT BY.
+ */
+public final class IdSequences {
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String STUDENTS = "students_seq";
+    public static final String ADDRESSES = "addresses_seq";
+    public static final String IDENTITY_DOCUMENTS = "identity_documents_seq";
+    public static final String DEPARTMENTS = "departments_seq";
+    public static final String PROGRAMS = "programs_seq";
+    public static final String STUDENT_STATUSES = "student_statuses_seq";
+
+    private IdSequences() {
+    }
+}
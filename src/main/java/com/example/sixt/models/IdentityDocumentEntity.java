@@ -13,7 +13,8 @@ import lombok.Setter;
 @Setter
 public class IdentityDocumentEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.IDENTITY_DOCUMENTS)
+    @SequenceGenerator(name = IdSequences.IDENTITY_DOCUMENTS, sequenceName = IdSequences.IDENTITY_DOCUMENTS, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "student_id", nullable = false)
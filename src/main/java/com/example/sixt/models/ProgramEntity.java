@@ -11,7 +11,8 @@ import lombok.Setter;
 public class ProgramEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.PROGRAMS)
+  @SequenceGenerator(name = IdSequences.PROGRAMS, sequenceName = IdSequences.PROGRAMS, allocationSize = IdSequences.ALLOCATION_SIZE)
   private Long id;
   private String name;
 
@@ -3,6 +3,7 @@ package com.example.sixt.models;
 import com.example.sixt.commons.Department;
 import com.example.sixt.commons.Gender;
 import com.example.sixt.commons.StudentStatus;
+import com.example.sixt.helpers.SearchNormalizer;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -25,7 +26,8 @@ import java.util.Date;
 public class StudentEntity implements Serializable {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.STUDENTS)
+  @SequenceGenerator(name = IdSequences.STUDENTS, sequenceName = IdSequences.STUDENTS, allocationSize = IdSequences.ALLOCATION_SIZE)
   @Column(name = "id")
   private Long id;
 
@@ -35,6 +37,10 @@ public class StudentEntity implements Serializable {
   @Column(name = "full_name")
   private String fullName;
 
+  // Accent-stripped, lowercased full name, kept in sync by setFullName and used by name search
+  @Column(name = "full_name_search")
+  private String fullNameSearch;
+
   @Column(name = "date_of_birth")
   @Temporal(TemporalType.DATE)
   private Date birthday;
@@ -67,5 +73,14 @@ public class StudentEntity implements Serializable {
   @UpdateTimestamp
   private Date updatedAt;
 
+  // Optimistic-locking version, checked by Hibernate on update and delete and sent to clients for If-Match
+  @Version
+  @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+  private Long version;
+
+  public void setFullName(String fullName) {
+    this.fullName = fullName;
+    this.fullNameSearch = SearchNormalizer.normalize(fullName);
+  }
 
 }
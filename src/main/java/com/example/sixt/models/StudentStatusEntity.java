@@ -11,7 +11,8 @@ import lombok.Setter;
 public class StudentStatusEntity {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.STUDENT_STATUSES)
+  @SequenceGenerator(name = IdSequences.STUDENT_STATUSES, sequenceName = IdSequences.STUDENT_STATUSES, allocationSize = IdSequences.ALLOCATION_SIZE)
   private Long id;
   private String name;
 
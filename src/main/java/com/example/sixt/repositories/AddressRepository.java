@@ -4,10 +4,12 @@ import com.example.sixt.models.AddressEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AddressRepository extends JpaRepository<AddressEntity, Long> {
     List<AddressEntity> findAllByStudentId(String studentId);
+    List<AddressEntity> findAllByStudentIdIn(Collection<String> studentIds);
     void deleteAllByStudentId(String studentId);
 }
@@ -4,10 +4,12 @@ import com.example.sixt.models.IdentityDocumentEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IdentityDocumentRepository extends JpaRepository<IdentityDocumentEntity, Long> {
     IdentityDocumentEntity findByStudentId(String studentId);
+    List<IdentityDocumentEntity> findAllByStudentIdIn(Collection<String> studentIds);
     void deleteByStudentId(String studentId);
 }
@@ -0,0 +1,143 @@
+package com.example.sixt.repositories;
+
+import com.example.sixt.models.AddressEntity;
+import com.example.sixt.commons.AddressType;
+import com.example.sixt.commons.Gender;
+import com.example.sixt.commons.IdentityType;
+import com.example.sixt.models.IdentityDocumentEntity;
+import com.example.sixt.models.StudentEntity;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Non-blocking reads of students and their related rows over R2DBC, mapped to the same entity classes as
+ * the JPA repositories. Queries mirror the ones used by the blocking search and stream endpoints.
+ */
+@Repository
+public class ReactiveStudentRepository {
+    private static final String STUDENT_COLUMNS = "id, student_id, full_name, full_name_search, date_of_birth, gender,"
+            + " department, course, program, nationality, email, phone_number, status, created_at, updated_at, version";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveStudentRepository(DatabaseClient reactiveDatabaseClient) {
+        this.databaseClient = reactiveDatabaseClient;
+    }
+
+    public Mono<StudentEntity> findByStudentId(String studentId) {
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM students WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .map(ReactiveStudentRepository::toStudent)
+                .one();
+    }
+
+    /**
+     * Students whose id or normalized full name contains the normalized keyword, ordered by student id.
+     */
+    public Flux<StudentEntity> streamByStudentIdOrFullName(String keyword) {
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM students"
+                        + " WHERE student_id LIKE CONCAT('%', :keyword, '%') OR full_name_search LIKE CONCAT('%', :keyword, '%')"
+                        + " ORDER BY student_id")
+                .bind("keyword", keyword)
+                .map(ReactiveStudentRepository::toStudent)
+                .all();
+    }
+
+    /**
+     * Students of a department, optionally narrowed to normalized full names containing the keyword.
+     */
+    public Flux<StudentEntity> streamByDepartment(Long department, String keyword) {
+        if (keyword == null) {
+            return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM students WHERE department = :department ORDER BY student_id")
+                    .bind("department", department)
+                    .map(ReactiveStudentRepository::toStudent)
+                    .all();
+        }
+        return databaseClient.sql("SELECT " + STUDENT_COLUMNS + " FROM students"
+                        + " WHERE department = :department AND full_name_search LIKE CONCAT('%', :keyword, '%') ORDER BY student_id")
+                .bind("department", department)
+                .bind("keyword", keyword)
+                .map(ReactiveStudentRepository::toStudent)
+                .all();
+    }
+
+    public Flux<AddressEntity> findAddresses(Collection<String> studentIds) {
+        return databaseClient.sql("SELECT id, student_id, type, house_number, street, ward, district, province, country"
+                        + " FROM addresses WHERE student_id = ANY(:studentIds)")
+                .bind("studentIds", studentIds.toArray(new String[0]))
+                .map(row -> {
+                    AddressEntity address = new AddressEntity();
+                    address.setId(row.get("id", Long.class));
+                    address.setStudentId(row.get("student_id", String.class));
+                    String type = row.get("type", String.class);
+                    address.setType(type != null ? AddressType.valueOf(type) : null);
+                    address.setHouseNumber(row.get("house_number", String.class));
+                    address.setStreet(row.get("street", String.class));
+                    address.setWard(row.get("ward", String.class));
+                    address.setDistrict(row.get("district", String.class));
+                    address.setProvince(row.get("province", String.class));
+                    address.setCountry(row.get("country", String.class));
+                    return address;
+                })
+                .all();
+    }
+
+    public Flux<IdentityDocumentEntity> findIdentityDocuments(Collection<String> studentIds) {
+        return databaseClient.sql("SELECT id, student_id, type, number, issue_date, issue_place, expiry_date, has_chip, country, note"
+                        + " FROM identity_documents WHERE student_id = ANY(:studentIds) ORDER BY id")
+                .bind("studentIds", studentIds.toArray(new String[0]))
+                .map(row -> {
+                    IdentityDocumentEntity identityDocument = new IdentityDocumentEntity();
+                    identityDocument.setId(row.get("id", Long.class));
+                    identityDocument.setStudentId(row.get("student_id", String.class));
+                    String type = row.get("type", String.class);
+                    identityDocument.setType(type != null ? IdentityType.valueOf(type) : null);
+                    identityDocument.setNumber(row.get("number", String.class));
+                    identityDocument.setIssueDate(toDate(row.get("issue_date", LocalDateTime.class)));
+                    identityDocument.setIssuePlace(row.get("issue_place", String.class));
+                    identityDocument.setExpiryDate(toDate(row.get("expiry_date", LocalDateTime.class)));
+                    identityDocument.setHasChip(row.get("has_chip", Boolean.class));
+                    identityDocument.setCountry(row.get("country", String.class));
+                    identityDocument.setNote(row.get("note", String.class));
+                    return identityDocument;
+                })
+                .all();
+    }
+
+    private static StudentEntity toStudent(Readable row) {
+        StudentEntity student = new StudentEntity();
+        student.setId(row.get("id", Long.class));
+        student.setStudentId(row.get("student_id", String.class));
+        student.setFullName(row.get("full_name", String.class));
+        LocalDate birthday = row.get("date_of_birth", LocalDate.class);
+        student.setBirthday(birthday != null ? Date.from(birthday.atStartOfDay(ZoneId.systemDefault()).toInstant()) : null);
+        String gender = row.get("gender", String.class);
+        student.setGender(gender != null ? Gender.valueOf(gender) : null);
+        student.setDepartment(row.get("department", Long.class));
+        student.setCourse(row.get("course", String.class));
+        student.setProgram(row.get("program", Long.class));
+        student.setNationality(row.get("nationality", String.class));
+        student.setEmail(row.get("email", String.class));
+        student.setPhoneNumber(row.get("phone_number", String.class));
+        student.setStatus(row.get("status", Long.class));
+        student.setCreatedAt(toDate(row.get("created_at", LocalDateTime.class)));
+        student.setUpdatedAt(toDate(row.get("updated_at", LocalDateTime.class)));
+        student.setVersion(row.get("version", Long.class));
+        return student;
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return dateTime != null ? Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant()) : null;
+    }
+}
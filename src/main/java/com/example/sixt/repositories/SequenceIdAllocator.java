@@ -0,0 +1,65 @@
+package com.example.sixt.repositories;
+
+import com.example.sixt.models.IdSequences;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reserves entity ids for rows inserted with plain JDBC. Follows the pooled optimizer used by Hibernate:
+ * each nextval reserves the {@link IdSequences#ALLOCATION_SIZE} ids ending at the returned value, so ids
+ * handed out here never collide with ids Hibernate assigns from the same sequence.
+ */
+@Component
+public class SequenceIdAllocator {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long[] allocate(String sequence, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+
+        List<Long> highValues = jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks(count));
+        int position = fill(ids, 0, highValues);
+        if (position < count) {
+            return allocateRemaining(sequence, ids, position);
+        }
+        return ids;
+    }
+
+    /**
+     * Number of nextval calls needed for {@code count} ids.
+     */
+    static int blocks(int count) {
+        return (count + IdSequences.ALLOCATION_SIZE - 1) / IdSequences.ALLOCATION_SIZE;
+    }
+
+    /**
+     * Copies the ids reserved by each high value into {@code ids} from {@code position} on and returns the
+     * position after the last one. Can stop short when a fresh sequence reserved fewer ids.
+     */
+    static int fill(long[] ids, int position, List<Long> highValues) {
+        for (long high : highValues) {
+            // A fresh sequence starts at 1; ids below 1 are never used.
+            for (long id = Math.max(1, high - IdSequences.ALLOCATION_SIZE + 1); id <= high && position < ids.length; id++) {
+                ids[position++] = id;
+            }
+        }
+        return position;
+    }
+
+    private long[] allocateRemaining(String sequence, long[] ids, int position) {
+        long[] remaining = allocate(sequence, ids.length - position);
+        System.arraycopy(remaining, 0, ids, position, remaining.length);
+        return ids;
+    }
+}
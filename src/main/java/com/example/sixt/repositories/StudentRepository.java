@@ -1,12 +1,19 @@
 package com.example.sixt.repositories;
 
 import com.example.sixt.models.StudentEntity;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface StudentRepository extends JpaRepository<StudentEntity, Long> {
@@ -14,7 +21,52 @@ public interface StudentRepository extends JpaRepository<StudentEntity, Long> {
     StudentEntity findByEmail(String email);
     List<StudentEntity> findByDepartment(Long department);
     List<StudentEntity> findByDepartmentAndFullNameContainingIgnoreCase(Long department, String fullName);
+    List<StudentEntity> findByDepartmentAndStudentIdGreaterThanOrderByStudentIdAsc(Long department, String studentId, Pageable pageable);
+    List<StudentEntity> findByDepartmentAndFullNameSearchContainingAndStudentIdGreaterThanOrderByStudentIdAsc(Long department, String fullNameSearch, String studentId, Pageable pageable);
+    List<StudentEntity> findAllByStudentIdIn(Collection<String> studentIds);
+
+    @Query("SELECT s.studentId, s.fullName FROM StudentEntity s")
+    List<Object[]> findAllStudentIdsAndFullNames();
+
+    @Query("SELECT s.id, s.fullName FROM StudentEntity s WHERE s.fullNameSearch IS NULL AND s.fullName IS NOT NULL")
+    List<Object[]> findIdsAndFullNamesWithoutSearchName(Pageable pageable);
+
+    @Query("SELECT s FROM StudentEntity s WHERE (s.studentId LIKE CONCAT('%', :keyword, '%') OR s.fullNameSearch LIKE CONCAT('%', :keyword, '%')) AND s.studentId > :after ORDER BY s.studentId")
+    List<StudentEntity> findByStudentIdOrFullName(@Param("keyword") String keyword, @Param("after") String after, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM StudentEntity s WHERE s.studentId LIKE CONCAT('%', :keyword, '%') OR s.fullNameSearch LIKE CONCAT('%', :keyword, '%') ORDER BY s.studentId")
+    Stream<StudentEntity> streamByStudentIdOrFullName(@Param("keyword") String keyword);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<StudentEntity> streamByDepartmentOrderByStudentIdAsc(Long department);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<StudentEntity> streamByDepartmentAndFullNameSearchContainingOrderByStudentIdAsc(Long department, String fullNameSearch);
+
+    /**
+     * Scalar rows for the CSV export, read through a forward-only cursor. Rows are not entities,
+     * so nothing accumulates in the persistence context while the export runs.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.id, s.studentId, s.fullName, s.email, s.department, s.status FROM StudentEntity s ORDER BY s.id")
+    Stream<Object[]> streamForExport();
 
-    @Query("SELECT s FROM StudentEntity s WHERE s.studentId LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(s.fullName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<StudentEntity> findByStudentIdOrFullName(@Param("keyword") String keyword);
+    /**
+     * Substring search served by the pg_trgm GIN indexes on full_name_search and student_id,
+     * ranked by trigram similarity. Returns (student_id, score) pairs after the given keyset position.
+     */
+    @Query(value = "SELECT ranked.student_id, ranked.score FROM ("
+            + " SELECT s.student_id, GREATEST(similarity(s.full_name_search, :keyword), similarity(s.student_id, :keyword)) AS score"
+            + " FROM students s"
+            + " WHERE s.full_name_search LIKE CONCAT('%', :keyword, '%') OR s.student_id LIKE CONCAT('%', :keyword, '%')"
+            + ") ranked"
+            + " WHERE :afterStudentId = '' OR ranked.score < CAST(:afterRank AS real)"
+            + " OR (ranked.score = CAST(:afterRank AS real) AND ranked.student_id > :afterStudentId)"
+            + " ORDER BY ranked.score DESC, ranked.student_id"
+            + " LIMIT :limit", nativeQuery = true)
+    List<Object[]> searchRankedStudentIds(@Param("keyword") String keyword,
+                                          @Param("afterStudentId") String afterStudentId,
+                                          @Param("afterRank") float afterRank,
+                                          @Param("limit") int limit);
 }
@@ -1,19 +1,23 @@
 package com.example.sixt.services;
 
 import com.example.sixt.controllers.requests.DepartmentCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
 import com.example.sixt.models.DepartmentEntity;
-import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.List;
 
 public interface DepartmentService {
     DepartmentEntity updateDepartment(Long id, String department);
     DepartmentEntity addDepartment(DepartmentCreationRequest department);
     DepartmentEntity getDepartmentById(Long id);
-    public void exportCsv(HttpServletResponse response) throws IOException;
-    public void importCsv(MultipartFile file) throws Exception;
+    public void exportCsv(Writer writer) throws IOException;
+    public void exportJson(OutputStream outputStream) throws IOException;
+    public ImportReport importCsv(MultipartFile file) throws IOException;
+    public ImportReport importJson(MultipartFile file) throws IOException;
     public void saveAll(List<DepartmentEntity> departments);
     public List<DepartmentEntity> getAllDepartments();
 }
@@ -0,0 +1,15 @@
+package com.example.sixt.services;
+
+import com.example.sixt.controllers.responses.ExportJobResponse;
+
+import java.nio.file.Path;
+
+public interface ExportJobService {
+    ExportJobResponse startExport(String dataset, String format);
+    ExportJobResponse getJob(String jobId);
+
+    /**
+     * Returns the spool file of a completed job.
+     */
+    Path getJobFile(String jobId);
+}
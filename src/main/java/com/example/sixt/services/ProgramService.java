@@ -1,10 +1,15 @@
 package com.example.sixt.services;
 
 import com.example.sixt.controllers.requests.ProgramCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
 import com.example.sixt.models.ProgramEntity;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 
 public interface ProgramService {
     ProgramEntity updateProgram(Long id, String program);
     ProgramEntity addProgram(ProgramCreationRequest program);
     ProgramEntity getProgramById(Long id);
+    ImportReport importCsv(MultipartFile file) throws IOException;
 }
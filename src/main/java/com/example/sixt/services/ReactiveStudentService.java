@@ -0,0 +1,11 @@
+package com.example.sixt.services;
+
+import com.example.sixt.controllers.responses.StudentResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveStudentService {
+    Mono<StudentResponse> findStudent(String studentId);
+    Flux<StudentResponse> streamStudents(String keyword);
+    Flux<StudentResponse> streamStudentsByDepartmentAndName(String keyword, String department);
+}
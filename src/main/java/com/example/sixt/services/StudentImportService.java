@@ -0,0 +1,11 @@
+package com.example.sixt.services;
+
+import com.example.sixt.controllers.responses.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface StudentImportService {
+    ImportReport importCsv(InputStream input) throws IOException;
+    ImportReport importJson(InputStream input) throws IOException;
+}
@@ -2,15 +2,24 @@ package com.example.sixt.services;
 
 import com.example.sixt.controllers.requests.StudentCreationRequest;
 import com.example.sixt.controllers.requests.StudentUpdateRequest;
+import com.example.sixt.controllers.responses.StudentPageResponse;
 import com.example.sixt.controllers.responses.StudentResponse;
 import com.example.sixt.models.StudentEntity;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StudentService {
     StudentResponse addStudent(StudentCreationRequest student);
-    void deleteStudent(String studentId);
-    StudentResponse updateStudent(String studentId, StudentUpdateRequest student);
-    List<StudentResponse> searchStudents(String keyword);
-    List<StudentResponse> searchStudentsByDepartmentAndName(String keyword, String department);
+    void deleteStudent(String studentId, Long expectedVersion);
+    StudentResponse updateStudent(String studentId, StudentUpdateRequest student, Long expectedVersion);
+    StudentPageResponse searchStudents(String keyword, String cursor, int limit);
+    String findStudentJson(String studentId);
+    StudentPageResponse searchStudentsByDepartmentAndName(String keyword, String department, String cursor, int limit);
+    void streamStudents(String keyword, Consumer<StudentResponse> consumer);
+    Long findDepartmentId(String department);
+    void streamStudentsByDepartmentAndName(String keyword, Long departmentId, Consumer<StudentResponse> consumer);
+    void exportStudentsCsv(Writer writer) throws IOException;
 }
@@ -1,10 +1,15 @@
 package com.example.sixt.services;
 
 import com.example.sixt.controllers.requests.StatusCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
 import com.example.sixt.models.StudentStatusEntity;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 
 public interface StudentStatusService {
     StudentStatusEntity updateStatus(Long id, String status);
     StudentStatusEntity addStatus(StatusCreationRequest status);
     StudentStatusEntity getStatusById(Long id);
+    ImportReport importCsv(MultipartFile file) throws IOException;
 }
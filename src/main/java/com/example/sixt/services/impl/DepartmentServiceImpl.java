@@ -1,11 +1,13 @@
 package com.example.sixt.services.impl;
 
+import com.example.sixt.caches.ReferenceDataDictionary;
 import com.example.sixt.controllers.requests.DepartmentCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
 import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.helpers.AfterCommit;
 import com.example.sixt.models.DepartmentEntity;
 import com.example.sixt.repositories.DepartmentRepository;
 import com.example.sixt.services.DepartmentService;
-import jakarta.servlet.http.HttpServletResponse;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,25 +15,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.List;
 
 @Service
 public class DepartmentServiceImpl implements DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final ModelMapper modelMapper;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final ReferenceDataImporter referenceDataImporter;
+    private final ReferenceDataExporter referenceDataExporter;
     private static final Logger log = LoggerFactory.getLogger(DepartmentServiceImpl.class);
 
     @Autowired
     public DepartmentServiceImpl(DepartmentRepository departmentRepository,
-                              ModelMapper modelMapper) {
+                              ModelMapper modelMapper,
+                              ReferenceDataDictionary referenceDataDictionary,
+                              ReferenceDataImporter referenceDataImporter,
+                              ReferenceDataExporter referenceDataExporter) {
         this.departmentRepository = departmentRepository;
         this.modelMapper = modelMapper;
+        this.referenceDataDictionary = referenceDataDictionary;
+        this.referenceDataImporter = referenceDataImporter;
+        this.referenceDataExporter = referenceDataExporter;
     }
 
     @Override
@@ -40,6 +49,7 @@ public class DepartmentServiceImpl implements DepartmentService {
             DepartmentEntity departmentEntity = departmentRepository.findById(id).orElseThrow(() -> new InvalidDataException("Student status not found"));
             departmentEntity.setName(department);
             DepartmentEntity savedDepartment = departmentRepository.save(departmentEntity);
+            AfterCommit.run(referenceDataDictionary::refresh);
             log.info("Program updated: {}", savedDepartment);
             return savedDepartment;
         }
@@ -62,6 +72,7 @@ public class DepartmentServiceImpl implements DepartmentService {
             DepartmentEntity departmentEntity = modelMapper.map(department, DepartmentEntity.class);
 
             DepartmentEntity savedDepartment = departmentRepository.save(departmentEntity);
+            AfterCommit.run(referenceDataDictionary::refresh);
             log.info("Department added: {}", savedDepartment);
 
             return savedDepartment;
@@ -83,43 +94,32 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
-    public void importCsv(MultipartFile file) throws Exception {
-        List<DepartmentEntity> departments = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            boolean firstLine = true;
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                String[] data = line.split(",");
-                if (data.length >= 2) {
-                    DepartmentEntity department = new DepartmentEntity();
-                    department.setName(data[1]);
-                    departments.add(department);
-                }
-            }
+    public ImportReport importCsv(MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return referenceDataImporter.importCsv(ReferenceTable.DEPARTMENTS, input);
         }
-        departmentRepository.saveAll(departments);
     }
 
     @Override
-    public void exportCsv(HttpServletResponse response) throws IOException {
-        List<DepartmentEntity> departments = departmentRepository.findAll();
-        PrintWriter writer = response.getWriter();
-        writer.println("ID,Name");
-
-        for (DepartmentEntity department : departments) {
-            writer.println(department.getId() + "," + department.getName());
+    public ImportReport importJson(MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return referenceDataImporter.importJson(ReferenceTable.DEPARTMENTS, input);
         }
+    }
 
-        writer.flush();
-        writer.close();
+    @Override
+    public void exportCsv(Writer writer) throws IOException {
+        referenceDataExporter.exportCsv(ReferenceTable.DEPARTMENTS, writer);
+    }
+
+    @Override
+    public void exportJson(OutputStream outputStream) throws IOException {
+        referenceDataExporter.exportJson(ReferenceTable.DEPARTMENTS, outputStream);
     }
 
     public void saveAll(List<DepartmentEntity> departments) {
         departmentRepository.saveAll(departments);
+        AfterCommit.run(referenceDataDictionary::refresh);
     }
 
     public List<DepartmentEntity> getAllDepartments() {
@@ -0,0 +1,242 @@
+package com.example.sixt.services.impl;
+
+import com.example.sixt.controllers.responses.ExportJobResponse;
+import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.services.ExportJobService;
+import com.example.sixt.services.StudentService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs exports in the background on a bounded pool and spools them to local files, so a long export
+ * does not depend on the client staying connected. Finished files are kept for {@code export.jobs.retention}
+ * and can be downloaded any number of times in that window. Job state lives in this node's memory: a job
+ * must be polled and downloaded through the node that started it.
+ */
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+    private static final String QUEUED = "QUEUED";
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+    private static final Map<String, ReferenceTable> REFERENCE_DATASETS = Map.of(
+            "departments", ReferenceTable.DEPARTMENTS,
+            "programs", ReferenceTable.PROGRAMS,
+            "statuses", ReferenceTable.STUDENT_STATUSES);
+
+    private final StudentService studentService;
+    private final ReferenceDataExporter referenceDataExporter;
+    private final Path spoolDirectory;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(ExportJobServiceImpl.class);
+
+    @Autowired
+    public ExportJobServiceImpl(StudentService studentService,
+                                ReferenceDataExporter referenceDataExporter,
+                                @Value("${export.jobs.spool-dir:${java.io.tmpdir}/sixt-exports}") String spoolDirectory,
+                                @Value("${export.jobs.retention:PT1H}") Duration retention,
+                                @Value("${export.jobs.threads:2}") int threads,
+                                @Value("${export.jobs.queue-capacity:20}") int queueCapacity) throws IOException {
+        this.studentService = studentService;
+        this.referenceDataExporter = referenceDataExporter;
+        this.spoolDirectory = Files.createDirectories(Paths.get(spoolDirectory));
+        this.retention = retention;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "export-job-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        deleteLeftoverFiles();
+    }
+
+    /**
+     * Queues an export. Throws {@link java.util.concurrent.RejectedExecutionException} when the queue is full.
+     */
+    @Override
+    public ExportJobResponse startExport(String dataset, String format) {
+        String normalizedFormat = format != null ? format.toLowerCase() : "csv";
+        if (!normalizedFormat.equals("csv") && !normalizedFormat.equals("json")) {
+            throw new InvalidDataException("Export format must be csv or json.");
+        }
+        if (dataset == null || (!dataset.equals("students") && !REFERENCE_DATASETS.containsKey(dataset))) {
+            throw new InvalidDataException("Export dataset must be one of students, departments, programs, statuses.");
+        }
+        if (dataset.equals("students") && normalizedFormat.equals("json")) {
+            throw new InvalidDataException("Students can only be exported as csv.");
+        }
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), dataset, normalizedFormat);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        log.info("Export job {} queued: {} as {}", job.id, dataset, normalizedFormat);
+        return job.toResponse(retention);
+    }
+
+    @Override
+    public ExportJobResponse getJob(String jobId) {
+        return findJob(jobId).toResponse(retention);
+    }
+
+    @Override
+    public Path getJobFile(String jobId) {
+        ExportJob job = findJob(jobId);
+        if (!COMPLETED.equals(job.status)) {
+            throw new InvalidDataException("Export job is not completed.");
+        }
+        return job.file;
+    }
+
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval-ms:60000}")
+    public void deleteExpiredJobs() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> {
+            Date completedAt = job.completedAt;
+            if (completedAt == null || completedAt.getTime() + retention.toMillis() > now) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            log.info("Export job {} expired", job.id);
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ExportJob findJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new InvalidDataException("Export job not found.");
+        }
+        return job;
+    }
+
+    private void run(ExportJob job) {
+        job.status = RUNNING;
+        Path file = spoolDirectory.resolve(job.id + "." + job.format);
+        Path partFile = spoolDirectory.resolve(job.id + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partFile), 64 * 1024)) {
+                write(job, out);
+            }
+            Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+            job.file = file;
+            job.size = Files.size(file);
+            job.completedAt = new Date();
+            job.status = COMPLETED;
+            log.info("Export job {} completed: {} bytes", job.id, job.size);
+        } catch (Exception e) {
+            deleteQuietly(partFile);
+            job.error = e.getMessage();
+            job.completedAt = new Date();
+            job.status = FAILED;
+            log.error("Export job {} failed: {}", job.id, e.getMessage());
+        }
+    }
+
+    private void write(ExportJob job, OutputStream out) throws IOException {
+        if (job.dataset.equals("students")) {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            studentService.exportStudentsCsv(writer);
+            writer.flush();
+            return;
+        }
+
+        ReferenceTable table = REFERENCE_DATASETS.get(job.dataset);
+        if (job.format.equals("json")) {
+            referenceDataExporter.exportJson(table, out);
+        } else {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            referenceDataExporter.exportCsv(table, writer);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Spool files of a previous run cannot be downloaded since their jobs are gone.
+     */
+    private void deleteLeftoverFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDirectory, "*.{csv,json,part}")) {
+            files.forEach(this::deleteQuietly);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static class ExportJob {
+        private final String id;
+        private final String dataset;
+        private final String format;
+        private final Date createdAt = new Date();
+        private volatile String status = QUEUED;
+        private volatile Path file;
+        private volatile Long size;
+        private volatile String error;
+        private volatile Date completedAt;
+
+        private ExportJob(String id, String dataset, String format) {
+            this.id = id;
+            this.dataset = dataset;
+            this.format = format;
+        }
+
+        private ExportJobResponse toResponse(Duration retention) {
+            ExportJobResponse response = new ExportJobResponse();
+            response.setJobId(id);
+            response.setDataset(dataset);
+            response.setFormat(format);
+            response.setStatus(status);
+            response.setSize(size);
+            response.setError(error);
+            response.setCreatedAt(createdAt);
+            Date completed = completedAt;
+            response.setCompletedAt(completed);
+            response.setExpiresAt(completed != null ? new Date(completed.getTime() + retention.toMillis()) : null);
+            return response;
+        }
+    }
+}
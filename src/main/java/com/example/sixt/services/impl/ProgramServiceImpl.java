@@ -1,7 +1,10 @@
 package com.example.sixt.services.impl;
 
+import com.example.sixt.caches.ReferenceDataDictionary;
 import com.example.sixt.controllers.requests.ProgramCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
 import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.helpers.AfterCommit;
 import com.example.sixt.models.ProgramEntity;
 import com.example.sixt.repositories.ProgramRepository;
 import com.example.sixt.services.ProgramService;
@@ -10,18 +13,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @Service
 public class ProgramServiceImpl implements ProgramService {
     private final ProgramRepository programRepository;
     private final ModelMapper modelMapper;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final ReferenceDataImporter referenceDataImporter;
     private static final Logger log = LoggerFactory.getLogger(ProgramServiceImpl.class);
 
     @Autowired
     public ProgramServiceImpl(ProgramRepository programRepository,
-                                    ModelMapper modelMapper) {
+                                    ModelMapper modelMapper,
+                                    ReferenceDataDictionary referenceDataDictionary,
+                                    ReferenceDataImporter referenceDataImporter) {
         this.programRepository = programRepository;
         this.modelMapper = modelMapper;
+        this.referenceDataDictionary = referenceDataDictionary;
+        this.referenceDataImporter = referenceDataImporter;
     }
 
     @Override
@@ -33,6 +46,7 @@ public class ProgramServiceImpl implements ProgramService {
             ProgramEntity studentStatusEntity = modelMapper.map(program, ProgramEntity.class);
 
             ProgramEntity savedStatus = programRepository.save(studentStatusEntity);
+            AfterCommit.run(referenceDataDictionary::refresh);
             log.info("Program added: {}", savedStatus);
 
             return savedStatus;
@@ -59,6 +73,7 @@ public class ProgramServiceImpl implements ProgramService {
             ProgramEntity programEntity = programRepository.findById(id).orElseThrow(() -> new InvalidDataException("Student status not found"));
             programEntity.setName(name);
             ProgramEntity savedProgram = programRepository.save(programEntity);
+            AfterCommit.run(referenceDataDictionary::refresh);
             log.info("Program updated: {}", savedProgram);
             return savedProgram;
         }
@@ -71,4 +86,11 @@ public class ProgramServiceImpl implements ProgramService {
             throw new RuntimeException("Program not found");
         }
     }
+
+    @Override
+    public ImportReport importCsv(MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return referenceDataImporter.importCsv(ReferenceTable.PROGRAMS, input);
+        }
+    }
 }
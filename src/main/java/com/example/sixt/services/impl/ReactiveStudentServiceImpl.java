@@ -0,0 +1,104 @@
+package com.example.sixt.services.impl;
+
+import com.example.sixt.caches.ReactiveStudentCache;
+import com.example.sixt.caches.ReferenceDataDictionary;
+import com.example.sixt.controllers.responses.StudentResponse;
+import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.helpers.SearchNormalizer;
+import com.example.sixt.models.StudentEntity;
+import com.example.sixt.repositories.ReactiveStudentRepository;
+import com.example.sixt.services.ReactiveStudentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only student lookups that never block the calling thread: students come from the shared student
+ * cache or R2DBC, related rows are fetched per chunk with R2DBC, and the only blocking calls left, reloads
+ * of the reference data dictionary, run on the bounded elastic scheduler.
+ */
+@Service
+public class ReactiveStudentServiceImpl implements ReactiveStudentService {
+    private static final int STREAM_CHUNK_SIZE = 200;
+
+    private final ReactiveStudentRepository reactiveStudentRepository;
+    private final ReactiveStudentCache reactiveStudentCache;
+    private final StudentResponseAssembler studentResponseAssembler;
+    private final ReferenceDataDictionary referenceDataDictionary;
+
+    @Autowired
+    public ReactiveStudentServiceImpl(ReactiveStudentRepository reactiveStudentRepository,
+                                      ReactiveStudentCache reactiveStudentCache,
+                                      StudentResponseAssembler studentResponseAssembler,
+                                      ReferenceDataDictionary referenceDataDictionary) {
+        this.reactiveStudentRepository = reactiveStudentRepository;
+        this.reactiveStudentCache = reactiveStudentCache;
+        this.studentResponseAssembler = studentResponseAssembler;
+        this.referenceDataDictionary = referenceDataDictionary;
+    }
+
+    @Override
+    public Mono<StudentResponse> findStudent(String studentId) {
+        return reactiveStudentCache.get(studentId)
+                .switchIfEmpty(Mono.defer(() -> reactiveStudentRepository.findByStudentId(studentId)
+                        .flatMap(student -> reactiveStudentCache.put(student).thenReturn(student))))
+                .flatMap(student -> assemble(List.of(student)).next());
+    }
+
+    @Override
+    public Flux<StudentResponse> streamStudents(String keyword) {
+        // Numeric keywords are student ids, looked up exactly as by the blocking API
+        if (keyword.matches("\\d+")) {
+            return findStudent(keyword).flux();
+        }
+        return reactiveStudentRepository.streamByStudentIdOrFullName(SearchNormalizer.normalize(keyword))
+                .buffer(STREAM_CHUNK_SIZE)
+                .concatMap(this::assemble);
+    }
+
+    @Override
+    public Flux<StudentResponse> streamStudentsByDepartmentAndName(String keyword, String department) {
+        String searchKeyword = keyword != null && !keyword.isEmpty() ? SearchNormalizer.normalize(keyword) : null;
+        // A lookup miss reloads the dictionary, so resolve the name off the calling thread
+        return Mono.fromCallable(() -> referenceDataDictionary.departmentId(department))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.error(() -> new InvalidDataException("Department does not exist.")))
+                .flatMapMany(departmentId -> reactiveStudentRepository.streamByDepartment(departmentId, searchKeyword))
+                .buffer(STREAM_CHUNK_SIZE)
+                .concatMap(this::assemble);
+    }
+
+    /**
+     * Fetches addresses and identity documents of a chunk concurrently, then joins them in memory.
+     */
+    private Flux<StudentResponse> assemble(List<StudentEntity> students) {
+        Set<String> studentIds = students.stream().map(StudentEntity::getStudentId).collect(Collectors.toCollection(LinkedHashSet::new));
+        return Mono.zip(reactiveStudentRepository.findAddresses(studentIds).collectList(),
+                        reactiveStudentRepository.findIdentityDocuments(studentIds).collectList(),
+                        loadReferenceNames(students).thenReturn(true))
+                .flatMapIterable(related -> studentResponseAssembler.assemble(students, related.getT1(), related.getT2()));
+    }
+
+    // Reloads the dictionary off the calling thread when a name is missing, e.g. a department added on another node
+    private Mono<Void> loadReferenceNames(List<StudentEntity> students) {
+        boolean complete = students.stream()
+                .allMatch(student -> referenceDataDictionary.hasNames(student.getDepartment(), student.getProgram(), student.getStatus()));
+        if (complete) {
+            return Mono.empty();
+        }
+        // loadNames remembers ids still unknown, so the assembler's lookups afterwards cannot reload on this thread
+        Set<Long> departmentIds = students.stream().map(StudentEntity::getDepartment).collect(Collectors.toSet());
+        Set<Long> programIds = students.stream().map(StudentEntity::getProgram).collect(Collectors.toSet());
+        Set<Long> statusIds = students.stream().map(StudentEntity::getStatus).collect(Collectors.toSet());
+        return Mono.fromRunnable(() -> referenceDataDictionary.loadNames(departmentIds, programIds, statusIds))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
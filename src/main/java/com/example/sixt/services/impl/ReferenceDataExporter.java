@@ -0,0 +1,84 @@
+package com.example.sixt.services.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Shared export pipeline for the name-only reference tables. Rows are read in keyset pages in id order
+ * and written as they arrive, so memory use does not depend on the table size.
+ */
+@Component
+public class ReferenceDataExporter {
+    private static final int PAGE_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReferenceDataExporter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportCsv(ReferenceTable table, Writer writer) throws IOException {
+        CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader("ID", "Name").build());
+        forEachPage(table, page -> {
+            for (Row row : page) {
+                csvPrinter.printRecord(row.id(), row.name());
+            }
+        });
+        csvPrinter.flush();
+    }
+
+    /**
+     * Writes the table as a JSON array of {@code {"id", "name"}} objects through a generator of the shared
+     * ObjectMapper. The output stream is flushed after each page and left open.
+     */
+    public void exportJson(ReferenceTable table, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            forEachPage(table, page -> {
+                for (Row row : page) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", row.id());
+                    generator.writeStringField("name", row.name());
+                    generator.writeEndObject();
+                }
+                generator.flush();
+            });
+            generator.writeEndArray();
+        }
+    }
+
+    private void forEachPage(ReferenceTable table, PageWriter writer) throws IOException {
+        String query = "SELECT id, name FROM " + table.tableName() + " WHERE id > ? ORDER BY id LIMIT " + PAGE_SIZE;
+        long lastId = 0;
+        List<Row> page;
+        do {
+            page = jdbcTemplate.query(query, (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("name")), lastId);
+            if (!page.isEmpty()) {
+                writer.write(page);
+                lastId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    private record Row(long id, String name) {
+    }
+
+    @FunctionalInterface
+    private interface PageWriter {
+        void write(List<Row> page) throws IOException;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.sixt.services.impl;
+
+import com.example.sixt.caches.ReferenceDataDictionary;
+import com.example.sixt.controllers.responses.ImportReport;
+import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.helpers.AfterCommit;
+import com.example.sixt.repositories.SequenceIdAllocator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared import pipeline for the name-only reference tables (departments, programs, student statuses).
+ * Files are parsed as a stream and inserted in chunks with one JDBC batch each. Names are upserted:
+ * rows whose name already exists, in the table or earlier in the file, are skipped instead of inserted again.
+ */
+@Component
+public class ReferenceDataImporter {
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final ObjectMapper objectMapper;
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataImporter.class);
+
+    @Autowired
+    public ReferenceDataImporter(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 SequenceIdAllocator sequenceIdAllocator,
+                                 ReferenceDataDictionary referenceDataDictionary,
+                                 ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.referenceDataDictionary = referenceDataDictionary;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports a CSV file with a header row containing a {@code Name} column, such as the one produced by
+     * the CSV export. Other columns, including {@code ID}, are ignored.
+     */
+    public ImportReport importCsv(ReferenceTable table, InputStream input) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreHeaderCase(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+        NameBatch batch = new NameBatch(table);
+        try (CSVParser parser = format.parse(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (parser.getHeaderNames().stream().noneMatch("name"::equalsIgnoreCase)) {
+                throw new InvalidDataException("CSV file must have a Name column.");
+            }
+            for (CSVRecord record : parser) {
+                batch.add(record.getRecordNumber(), record.isSet("name") ? record.get("name") : null);
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Imports a JSON array of objects with a {@code name} field, such as the one produced by the JSON export.
+     * The array is read token by token and only one element is materialized at a time. Elements that are
+     * not objects or have no textual name are rejected individually; a syntax error stops the import and is
+     * reported on the element where it occurred, keeping the chunks saved before it.
+     */
+    public ImportReport importJson(ReferenceTable table, InputStream input) throws IOException {
+        NameBatch batch = new NameBatch(table);
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidDataException("JSON file must be an array.");
+            }
+            // Elements read completely; a parse error belongs to the element after them, whether it
+            // happens inside that element or between elements
+            long parsedRows = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        batch.reject(parsedRows + 1, "Unexpected end of file.");
+                        break;
+                    }
+                    long row = parsedRows + 1;
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        parsedRows = row;
+                        batch.reject(row, "Element must be an object.");
+                        continue;
+                    }
+                    JsonNode name = parser.<JsonNode>readValueAsTree().get("name");
+                    parsedRows = row;
+                    if (name == null || !name.isTextual()) {
+                        batch.reject(row, "Name must be a string.");
+                        continue;
+                    }
+                    batch.add(row, name.asText());
+                }
+            } catch (JsonParseException e) {
+                batch.reject(parsedRows + 1, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Collects named rows of one import and writes them a chunk at a time. Only the current chunk is held
+     * in memory: names are checked against the table with one lookup per chunk, inside the chunk's
+     * transaction, which also catches names inserted by earlier chunks of the same file.
+     */
+    class NameBatch {
+        private final ReferenceTable table;
+        private final ImportReport report = new ImportReport();
+        private final Map<String, Long> chunk = new LinkedHashMap<>();
+
+        NameBatch(ReferenceTable table) {
+            this.table = table;
+        }
+
+        void add(long row, String name) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            String trimmed = name != null ? name.trim() : null;
+            if (trimmed == null || trimmed.isEmpty()) {
+                report.addError(row, name, "Name must be not blank");
+                return;
+            }
+            if (trimmed.length() > MAX_NAME_LENGTH) {
+                report.addError(row, trimmed, "Name must be at most " + MAX_NAME_LENGTH + " characters");
+                return;
+            }
+            if (chunk.putIfAbsent(trimmed, row) != null) {
+                report.setSkipped(report.getSkipped() + 1);
+                return;
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            report.addError(row, null, message);
+        }
+
+        ImportReport finish() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+            if (report.getImported() > 0) {
+                AfterCommit.run(referenceDataDictionary::refresh);
+            }
+            log.info("Imported {} of {} rows into {}", report.getImported(), report.getTotalRows(), table.tableName());
+            return report;
+        }
+
+        private void flush() {
+            int chunkSize = chunk.size();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<String> existing = namedParameterJdbcTemplate.queryForList(
+                            "SELECT name FROM " + table.tableName() + " WHERE name IN (:names)",
+                            Map.of("names", chunk.keySet()), String.class);
+                    existing.forEach(chunk.keySet()::remove);
+                    long[] ids = sequenceIdAllocator.allocate(table.sequenceName(), chunk.size());
+                    List<Object[]> rows = new ArrayList<>(chunk.size());
+                    for (String name : chunk.keySet()) {
+                        rows.add(new Object[]{ids[rows.size()], name});
+                    }
+                    jdbcTemplate.batchUpdate("INSERT INTO " + table.tableName() + " (id, name) VALUES (?, ?)", rows);
+                });
+                report.setImported(report.getImported() + chunk.size());
+            } catch (DataAccessException e) {
+                log.error("Error importing into {}: {}", table.tableName(), e.getMessage());
+                chunk.forEach((name, row) -> report.addError(row, name, "Could not be saved."));
+            }
+            report.setSkipped(report.getSkipped() + chunkSize - chunk.size());
+            chunk.clear();
+        }
+    }
+}
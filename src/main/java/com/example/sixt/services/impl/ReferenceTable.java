@@ -0,0 +1,28 @@
+package com.example.sixt.services.impl;
+
+import com.example.sixt.models.IdSequences;
+
+/**
+ * The name-only reference tables handled by {@link ReferenceDataImporter} and {@link ReferenceDataExporter}.
+ */
+public enum ReferenceTable {
+    DEPARTMENTS("departments", IdSequences.DEPARTMENTS),
+    PROGRAMS("programs", IdSequences.PROGRAMS),
+    STUDENT_STATUSES("student_statuses", IdSequences.STUDENT_STATUSES);
+
+    private final String tableName;
+    private final String sequenceName;
+
+    ReferenceTable(String tableName, String sequenceName) {
+        this.tableName = tableName;
+        this.sequenceName = sequenceName;
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    public String sequenceName() {
+        return sequenceName;
+    }
+}
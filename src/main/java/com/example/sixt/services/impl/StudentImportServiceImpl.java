@@ -0,0 +1,445 @@
+package com.example.sixt.services.impl;
+
+import com.example.sixt.caches.ReferenceDataDictionary;
+import com.example.sixt.caches.StudentNameIndex;
+import com.example.sixt.commons.AddressType;
+import com.example.sixt.commons.Gender;
+import com.example.sixt.commons.IdentityType;
+import com.example.sixt.controllers.requests.AddressRequest;
+import com.example.sixt.controllers.requests.IdentityDocumentRequest;
+import com.example.sixt.controllers.requests.StudentCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
+import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.helpers.SearchNormalizer;
+import com.example.sixt.models.IdSequences;
+import com.example.sixt.repositories.SequenceIdAllocator;
+import com.example.sixt.services.StudentImportService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bulk student import. Uploads are parsed as a stream and handled in chunks: rows are validated in
+ * parallel against names resolved once per import, then each chunk's students, addresses and identity
+ * documents are written with one JDBC batch per table in a single transaction. Rows that fail validation
+ * or collide with an existing student id or email are reported individually and do not stop the import.
+ */
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final String INSERT_STUDENT = "INSERT INTO students (id, student_id, full_name, full_name_search, date_of_birth, gender,"
+            + " department, course, program, nationality, email, phone_number, status, created_at, updated_at, version)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0) ON CONFLICT DO NOTHING";
+    private static final String INSERT_ADDRESS = "INSERT INTO addresses (id, student_id, type, house_number, street, ward, district, province, country)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IDENTITY_DOCUMENT = "INSERT INTO identity_documents (id, student_id, type, number, issue_date, issue_place,"
+            + " expiry_date, has_chip, country, note) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final StudentNameIndex studentNameIndex;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private static final Logger log = LoggerFactory.getLogger(StudentImportServiceImpl.class);
+
+    @Autowired
+    public StudentImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    ReferenceDataDictionary referenceDataDictionary,
+                                    StudentNameIndex studentNameIndex,
+                                    SequenceIdAllocator sequenceIdAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.referenceDataDictionary = referenceDataDictionary;
+        this.studentNameIndex = studentNameIndex;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+    }
+
+    /**
+     * Reads a CSV file with a header row. Columns: studentId, fullName, birthday (yyyy-MM-dd), gender,
+     * department, course, program, nationality, email, phoneNumber, status, an optional address
+     * (addressType, houseNumber, street, ward, district, province, country) and an optional identity
+     * document (identityType, identityNumber, identityIssueDate, identityIssuePlace, identityExpiryDate,
+     * identityHasChip, identityCountry, identityNote).
+     */
+    @Override
+    public ImportReport importCsv(InputStream input) throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+        Batch batch = new Batch();
+        try (CSVParser parser = format.parse(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            for (CSVRecord record : parser) {
+                ImportRow row = new ImportRow(record.getRecordNumber());
+                try {
+                    row.student = fromCsv(record);
+                } catch (RuntimeException e) {
+                    row.error = "Invalid value: " + e.getMessage();
+                }
+                batch.add(row);
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Reads a JSON array of students in the shape accepted by {@code POST /api/v1/students/add}.
+     * Elements that do not map to a student are reported and skipped; malformed JSON is reported on the
+     * element where it occurred and ends the import, keeping the chunks saved before it.
+     */
+    @Override
+    public ImportReport importJson(InputStream input) throws IOException {
+        Batch batch = new Batch();
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidDataException("JSON import must be an array of students.");
+            }
+            // Elements read completely; a parse error belongs to the element after them. Chunks before it are
+            // already saved, so it is reported on that row and the rest of the file is skipped.
+            long parsedRows = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        batch.reject(parsedRows + 1, "Unexpected end of JSON import.");
+                        break;
+                    }
+                    JsonNode node = parser.readValueAsTree();
+                    ImportRow row = new ImportRow(++parsedRows);
+                    try {
+                        row.student = objectMapper.treeToValue(node, StudentCreationRequest.class);
+                    } catch (JsonProcessingException e) {
+                        row.error = "Invalid student: " + e.getOriginalMessage();
+                    }
+                    batch.add(row);
+                }
+            } catch (JsonParseException e) {
+                batch.reject(parsedRows + 1, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    private StudentCreationRequest fromCsv(CSVRecord record) {
+        StudentCreationRequest student = new StudentCreationRequest();
+        student.setStudentId(value(record, "studentId"));
+        student.setFullName(value(record, "fullName"));
+        student.setBirthday(date(value(record, "birthday")));
+        String gender = value(record, "gender");
+        student.setGender(gender != null ? Gender.valueOf(gender.toUpperCase(Locale.ROOT)) : null);
+        student.setDepartment(value(record, "department"));
+        student.setCourse(value(record, "course"));
+        student.setProgram(value(record, "program"));
+        student.setNationality(value(record, "nationality"));
+        student.setEmail(value(record, "email"));
+        student.setPhoneNumber(value(record, "phoneNumber"));
+        student.setStatus(value(record, "status"));
+
+        if (value(record, "houseNumber") != null || value(record, "street") != null) {
+            AddressRequest address = new AddressRequest();
+            String type = value(record, "addressType");
+            address.setType(type != null ? AddressType.valueOf(type.toUpperCase(Locale.ROOT)) : null);
+            address.setHouseNumber(value(record, "houseNumber"));
+            address.setStreet(value(record, "street"));
+            address.setWard(value(record, "ward"));
+            address.setDistrict(value(record, "district"));
+            address.setProvince(value(record, "province"));
+            address.setCountry(value(record, "country"));
+            student.setAddresses(List.of(address));
+        }
+
+        if (value(record, "identityNumber") != null) {
+            IdentityDocumentRequest identityDocument = new IdentityDocumentRequest();
+            String type = value(record, "identityType");
+            identityDocument.setType(type != null ? IdentityType.valueOf(type.toUpperCase(Locale.ROOT)) : null);
+            identityDocument.setNumber(value(record, "identityNumber"));
+            identityDocument.setIssueDate(date(value(record, "identityIssueDate")));
+            identityDocument.setIssuePlace(value(record, "identityIssuePlace"));
+            identityDocument.setExpiryDate(date(value(record, "identityExpiryDate")));
+            String hasChip = value(record, "identityHasChip");
+            identityDocument.setHasChip(hasChip != null ? Boolean.parseBoolean(hasChip) : null);
+            identityDocument.setCountry(value(record, "identityCountry"));
+            identityDocument.setNote(value(record, "identityNote"));
+            student.setIdentityDocument(identityDocument);
+        }
+        return student;
+    }
+
+    private static String value(CSVRecord record, String column) {
+        if (!record.isMapped(column) || !record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Date date(String value) {
+        return value != null ? java.sql.Date.valueOf(LocalDate.parse(value)) : null;
+    }
+
+    /**
+     * Import state: the pending chunk, ids and emails already seen in the file, and reference names
+     * resolved so far, which are looked up once per import rather than once per row.
+     */
+    private class Batch {
+        private final ImportReport report = new ImportReport();
+        private final List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final Set<String> seenStudentIds = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Map<String, Long> departmentIds = new HashMap<>();
+        private final Map<String, Long> programIds = new HashMap<>();
+        private final Map<String, Long> statusIds = new HashMap<>();
+
+        void add(ImportRow row) {
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long rowNumber, String error) {
+            ImportRow row = new ImportRow(rowNumber);
+            row.error = error;
+            add(row);
+        }
+
+        ImportReport finish() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+            log.info("Student import finished: {} of {} rows imported", report.getImported(), report.getTotalRows());
+            return report;
+        }
+
+        private void flush() {
+            report.setTotalRows(report.getTotalRows() + chunk.size());
+            for (ImportRow row : chunk) {
+                if (row.student != null) {
+                    resolve(departmentIds, row.student.getDepartment(), referenceDataDictionary::departmentId);
+                    resolve(programIds, row.student.getProgram(), referenceDataDictionary::programId);
+                    resolve(statusIds, row.student.getStatus(), referenceDataDictionary::statusId);
+                }
+            }
+
+            chunk.parallelStream().forEach(this::validate);
+
+            List<ImportRow> valid = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                if (row.error == null && !seenStudentIds.add(row.student.getStudentId())) {
+                    row.error = "Duplicate student id in file.";
+                }
+                if (row.error == null && row.student.getEmail() != null && !seenEmails.add(row.student.getEmail())) {
+                    row.error = "Duplicate email in file.";
+                }
+                if (row.error != null) {
+                    report.addError(row.rowNumber, row.student != null ? row.student.getStudentId() : null, row.error);
+                } else {
+                    valid.add(row);
+                }
+            }
+
+            if (!valid.isEmpty()) {
+                persist(valid);
+            }
+            chunk.clear();
+        }
+
+        private void resolve(Map<String, Long> ids, String name, Function<String, Long> lookup) {
+            if (name != null && !ids.containsKey(name)) {
+                ids.put(name, lookup.apply(name));
+            }
+        }
+
+        private void validate(ImportRow row) {
+            if (row.error != null) {
+                return;
+            }
+            StudentCreationRequest student = row.student;
+            row.error = firstViolation(validator.validate(student));
+            if (row.error == null && student.getAddresses() != null) {
+                for (AddressRequest address : student.getAddresses()) {
+                    row.error = firstViolation(validator.validate(address));
+                    if (row.error != null) {
+                        break;
+                    }
+                }
+            }
+            if (row.error == null) {
+                row.departmentId = departmentIds.get(student.getDepartment());
+                row.programId = programIds.get(student.getProgram());
+                row.statusId = student.getStatus() != null ? statusIds.get(student.getStatus()) : null;
+                // Same rules as addStudent: a missing name is allowed, an unknown one is not
+                if (student.getDepartment() != null && row.departmentId == null) {
+                    row.error = "Department does not exist.";
+                } else if (student.getProgram() != null && row.programId == null) {
+                    row.error = "Program does not exist.";
+                } else if (student.getStatus() != null && row.statusId == null) {
+                    row.error = "Status does not exist.";
+                }
+            }
+        }
+
+        private <T> String firstViolation(Set<ConstraintViolation<T>> violations) {
+            return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+        }
+
+        private void persist(List<ImportRow> rows) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            try {
+                List<ImportRow> inserted = transactionTemplate.execute(status -> {
+                    long[] studentIds = sequenceIdAllocator.allocate(IdSequences.STUDENTS, rows.size());
+                    List<Object[]> students = new ArrayList<>(rows.size());
+                    for (ImportRow row : rows) {
+                        students.add(studentValues(row, studentIds[students.size()], now));
+                    }
+                    Set<Long> insertedIds = insertedIds(studentIds, jdbcTemplate.batchUpdate(INSERT_STUDENT, students));
+                    List<ImportRow> saved = new ArrayList<>(rows.size());
+                    List<Object[]> addresses = new ArrayList<>();
+                    List<Object[]> identityDocuments = new ArrayList<>();
+                    for (int i = 0; i < rows.size(); i++) {
+                        ImportRow row = rows.get(i);
+                        if (!insertedIds.contains(studentIds[i])) {
+                            row.error = "Student id or email already exists.";
+                            continue;
+                        }
+                        saved.add(row);
+                        StudentCreationRequest student = row.student;
+                        if (student.getAddresses() != null) {
+                            for (AddressRequest address : student.getAddresses()) {
+                                addresses.add(new Object[]{null, student.getStudentId(), name(address.getType()), address.getHouseNumber(),
+                                        address.getStreet(), address.getWard(), address.getDistrict(), address.getProvince(), address.getCountry()});
+                            }
+                        }
+                        IdentityDocumentRequest document = student.getIdentityDocument();
+                        if (document != null) {
+                            identityDocuments.add(new Object[]{null, student.getStudentId(), name(document.getType()), document.getNumber(),
+                                    sqlDate(document.getIssueDate()), document.getIssuePlace(), sqlDate(document.getExpiryDate()),
+                                    document.getHasChip(), document.getCountry(), document.getNote()});
+                        }
+                    }
+                    if (!addresses.isEmpty()) {
+                        assignIds(IdSequences.ADDRESSES, addresses);
+                        jdbcTemplate.batchUpdate(INSERT_ADDRESS, addresses);
+                    }
+                    if (!identityDocuments.isEmpty()) {
+                        assignIds(IdSequences.IDENTITY_DOCUMENTS, identityDocuments);
+                        jdbcTemplate.batchUpdate(INSERT_IDENTITY_DOCUMENT, identityDocuments);
+                    }
+                    return saved;
+                });
+
+                for (ImportRow row : rows) {
+                    if (row.error != null) {
+                        report.addError(row.rowNumber, row.student.getStudentId(), row.error);
+                    }
+                }
+                for (ImportRow row : inserted) {
+                    studentNameIndex.add(row.student.getStudentId(), row.student.getFullName());
+                }
+                report.setImported(report.getImported() + inserted.size());
+            } catch (DataAccessException e) {
+                log.error("Error importing student chunk: {}", e.getMessage());
+                for (ImportRow row : rows) {
+                    report.addError(row.rowNumber, row.student.getStudentId(), "Could not be saved.");
+                }
+            }
+        }
+
+        /**
+         * Ids of the rows not skipped by ON CONFLICT. The update counts tell when the driver reports them per
+         * row; with {@code reWriteBatchedInserts} it reports {@link Statement#SUCCESS_NO_INFO} instead, and the
+         * rows are read back by their allocated ids.
+         */
+        private Set<Long> insertedIds(long[] ids, int[] counts) {
+            Set<Long> inserted = new HashSet<>(ids.length * 2);
+            for (int i = 0; i < ids.length; i++) {
+                if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    Long[] boxed = Arrays.stream(ids).boxed().toArray(Long[]::new);
+                    return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM students WHERE id = ANY(?)", Long.class, (Object) boxed));
+                }
+                if (counts[i] > 0) {
+                    inserted.add(ids[i]);
+                }
+            }
+            return inserted;
+        }
+
+        private void assignIds(String sequence, List<Object[]> rows) {
+            long[] ids = sequenceIdAllocator.allocate(sequence, rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i)[0] = ids[i];
+            }
+        }
+
+        private Object[] studentValues(ImportRow row, long id, Timestamp now) {
+            StudentCreationRequest student = row.student;
+            return new Object[]{id, student.getStudentId(), student.getFullName(), SearchNormalizer.normalize(student.getFullName()),
+                    sqlDate(student.getBirthday()), name(student.getGender()), row.departmentId, student.getCourse(), row.programId,
+                    student.getNationality(), student.getEmail(), student.getPhoneNumber(), row.statusId, now, now};
+        }
+    }
+
+    private static java.sql.Date sqlDate(Date date) {
+        return date != null ? new java.sql.Date(date.getTime()) : null;
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static class ImportRow {
+        private final long rowNumber;
+        private StudentCreationRequest student;
+        private Long departmentId;
+        private Long programId;
+        private Long statusId;
+        private volatile String error;
+
+        private ImportRow(long rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+    }
+}
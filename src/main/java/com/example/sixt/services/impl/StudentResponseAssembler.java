@@ -0,0 +1,193 @@
+package com.example.sixt.services.impl;
+
+import com.example.sixt.caches.ReferenceDataDictionary;
+import com.example.sixt.controllers.responses.StudentResponse;
+import com.example.sixt.models.*;
+import com.example.sixt.repositories.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link StudentResponse}s for a batch of students with one IN query per
+ * related table and in-memory joins, instead of five lookups per student. Department, program
+ * and status names come from the in-memory {@link ReferenceDataDictionary}.
+ * <p>
+ * The lookups of a batch are independent, so the address query runs on a small bounded executor while
+ * the caller runs the identity document query, and a dictionary reload needed for unknown names runs
+ * alongside them. When the executor is saturated the caller runs the work itself. Callers inside a
+ * transaction, such as the streaming searches, run the lookups one after another on their own connection.
+ * Each lookup is timed as {@code student.assembly.lookup} and the joined wait as
+ * {@code student.assembly.fan-out}. The difference between the summed lookups and the wait is recorded in
+ * milliseconds as {@code student.assembly.latency.saved}, a distribution summary since it is a saving
+ * rather than the duration of anything that ran.
+ */
+@Component
+public class StudentResponseAssembler {
+    private final ModelMapper modelMapper;
+    private final AddressRepository addressRepository;
+    private final IdentityDocumentRepository identityDocumentRepository;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final ThreadPoolExecutor executor;
+    private final Timer addressLookups;
+    private final Timer identityDocumentLookups;
+    private final Timer referenceNameLookups;
+    private final Timer fanOut;
+    private final DistributionSummary latencySaved;
+
+    @Autowired
+    public StudentResponseAssembler(ModelMapper modelMapper,
+                                    AddressRepository addressRepository,
+                                    IdentityDocumentRepository identityDocumentRepository,
+                                    ReferenceDataDictionary referenceDataDictionary,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${student.assembly.threads:8}") int threads,
+                                    @Value("${student.assembly.queue-capacity:100}") int queueCapacity) {
+        this.modelMapper = modelMapper;
+        this.addressRepository = addressRepository;
+        this.identityDocumentRepository = identityDocumentRepository;
+        this.referenceDataDictionary = referenceDataDictionary;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "student-assembly-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.addressLookups = Timer.builder("student.assembly.lookup").tag("lookup", "addresses").register(meterRegistry);
+        this.identityDocumentLookups = Timer.builder("student.assembly.lookup").tag("lookup", "identity_documents").register(meterRegistry);
+        this.referenceNameLookups = Timer.builder("student.assembly.lookup").tag("lookup", "reference_names").register(meterRegistry);
+        this.fanOut = Timer.builder("student.assembly.fan-out").register(meterRegistry);
+        this.latencySaved = DistributionSummary.builder("student.assembly.latency.saved").baseUnit("milliseconds").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public StudentResponse assemble(StudentEntity student) {
+        return assemble(List.of(student)).get(0);
+    }
+
+    public List<StudentResponse> assemble(List<StudentEntity> students) {
+        if (students.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> studentIds = students.stream().map(StudentEntity::getStudentId).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The caller holds a pooled connection, and waiting on lookups that need another one could exhaust the pool
+            return assemble(students, addressRepository.findAllByStudentIdIn(studentIds), identityDocumentRepository.findAllByStudentIdIn(studentIds));
+        }
+
+        boolean namesKnown = students.stream()
+                .allMatch(student -> referenceDataDictionary.hasNames(student.getDepartment(), student.getProgram(), student.getStatus()));
+
+        long begin = System.nanoTime();
+        CompletableFuture<Timed<List<AddressEntity>>> addresses = CompletableFuture.supplyAsync(
+                () -> timed(() -> addressRepository.findAllByStudentIdIn(studentIds)), executor);
+        CompletableFuture<Timed<Boolean>> referenceNames = namesKnown
+                ? CompletableFuture.completedFuture(new Timed<>(true, 0L))
+                : CompletableFuture.supplyAsync(() -> timed(() -> {
+                    // Shares the reload with concurrent batches and remembers ids still unknown
+                    referenceDataDictionary.loadNames(
+                            students.stream().map(StudentEntity::getDepartment).collect(Collectors.toSet()),
+                            students.stream().map(StudentEntity::getProgram).collect(Collectors.toSet()),
+                            students.stream().map(StudentEntity::getStatus).collect(Collectors.toSet()));
+                    return true;
+                }), executor);
+        Timed<List<IdentityDocumentEntity>> identityDocuments = timed(() -> identityDocumentRepository.findAllByStudentIdIn(studentIds));
+        Timed<List<AddressEntity>> addressResult = await(addresses);
+        Timed<Boolean> referenceNameResult = await(referenceNames);
+        long elapsed = System.nanoTime() - begin;
+
+        addressLookups.record(addressResult.nanos, TimeUnit.NANOSECONDS);
+        identityDocumentLookups.record(identityDocuments.nanos, TimeUnit.NANOSECONDS);
+        if (!namesKnown) {
+            referenceNameLookups.record(referenceNameResult.nanos, TimeUnit.NANOSECONDS);
+        }
+        fanOut.record(elapsed, TimeUnit.NANOSECONDS);
+        long sequential = addressResult.nanos + identityDocuments.nanos + referenceNameResult.nanos;
+        latencySaved.record(Math.max(0L, sequential - elapsed) / 1_000_000.0);
+
+        return assemble(students, addressResult.value, identityDocuments.value);
+    }
+
+    /**
+     * Joins students with their already loaded addresses and identity documents, for callers that fetch
+     * the related rows themselves.
+     */
+    public List<StudentResponse> assemble(List<StudentEntity> students,
+                                          List<AddressEntity> studentAddresses,
+                                          List<IdentityDocumentEntity> studentIdentityDocuments) {
+        List<StudentResponse> responses = new ArrayList<>(students.size());
+        Map<String, List<AddressEntity>> addresses = studentAddresses.stream()
+                .collect(Collectors.groupingBy(AddressEntity::getStudentId));
+        Map<String, IdentityDocumentEntity> identityDocuments = new HashMap<>();
+        for (IdentityDocumentEntity identityDocument : studentIdentityDocuments) {
+            identityDocuments.putIfAbsent(identityDocument.getStudentId(), identityDocument);
+        }
+
+        for (StudentEntity student : students) {
+            StudentResponse studentResponse = modelMapper.map(student, StudentResponse.class);
+            studentResponse.setAddresses(addresses.getOrDefault(student.getStudentId(), new ArrayList<>()));
+            studentResponse.setIdentityDocument(identityDocuments.get(student.getStudentId()));
+            studentResponse.setDepartment(referenceDataDictionary.departmentName(student.getDepartment()));
+            studentResponse.setProgram(referenceDataDictionary.programName(student.getProgram()));
+            studentResponse.setStatus(referenceDataDictionary.statusName(student.getStatus()));
+            responses.add(studentResponse);
+        }
+        return responses;
+    }
+
+    private static <T> Timed<T> timed(Supplier<T> lookup) {
+        long begin = System.nanoTime();
+        T value = lookup.get();
+        return new Timed<>(value, System.nanoTime() - begin);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Timed<T> {
+        private final T value;
+        private final long nanos;
+
+        private Timed(T value, long nanos) {
+            this.value = value;
+            this.nanos = nanos;
+        }
+    }
+}
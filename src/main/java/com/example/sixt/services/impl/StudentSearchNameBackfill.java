@@ -0,0 +1,50 @@
+package com.example.sixt.services.impl;
+
+import com.example.sixt.helpers.SearchNormalizer;
+import com.example.sixt.repositories.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fills students.full_name_search for rows written before the column existed.
+ * New and updated students get it from {@code StudentEntity.setFullName}.
+ */
+@Component
+public class StudentSearchNameBackfill {
+    private static final int BATCH_SIZE = 1000;
+
+    private final StudentRepository studentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private static final Logger log = LoggerFactory.getLogger(StudentSearchNameBackfill.class);
+
+    @Autowired
+    public StudentSearchNameBackfill(StudentRepository studentRepository, JdbcTemplate jdbcTemplate) {
+        this.studentRepository = studentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = 0;
+        List<Object[]> rows;
+        while (!(rows = studentRepository.findIdsAndFullNamesWithoutSearchName(PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+            List<Object[]> arguments = rows.stream()
+                    .map(row -> new Object[]{SearchNormalizer.normalize((String) row[1]), row[0]})
+                    .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate("UPDATE students SET full_name_search = ? WHERE id = ?", arguments);
+            updated += rows.size();
+        }
+        if (updated > 0) {
+            log.info("Backfilled full_name_search for {} students", updated);
+        }
+    }
+}
@@ -1,75 +1,122 @@
 package com.example.sixt.services.impl;
 
+import com.example.sixt.caches.ReferenceDataDictionary;
+import com.example.sixt.caches.SingleFlight;
+import com.example.sixt.caches.StudentCache;
+import com.example.sixt.caches.StudentNameIndex;
+import com.example.sixt.caches.StudentResponseCache;
 import com.example.sixt.controllers.requests.AddressRequest;
 import com.example.sixt.controllers.requests.StudentCreationRequest;
 import com.example.sixt.controllers.requests.StudentUpdateRequest;
+import com.example.sixt.controllers.responses.StudentPageResponse;
 import com.example.sixt.controllers.responses.StudentResponse;
 import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.exceptions.PreconditionFailedException;
+import com.example.sixt.helpers.AfterCommit;
+import com.example.sixt.helpers.CsvHelper;
+import com.example.sixt.helpers.CursorHelper;
+import com.example.sixt.helpers.SearchNormalizer;
+import com.example.sixt.locks.StudentLockProvider;
 import com.example.sixt.models.*;
 import com.example.sixt.repositories.*;
 import com.example.sixt.services.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.commons.csv.CSVPrinter;
 import org.modelmapper.ModelMapper;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class StudentServiceImpl implements StudentService {
+    private static final int STREAM_CHUNK_SIZE = 200;
     private final StudentRepository studentRepository;
     private final ModelMapper modelMapper;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final RedissonClient redissonClient;
+    private final StudentCache studentCache;
+    private final StudentResponseCache studentResponseCache;
+    private final StudentLockProvider studentLockProvider;
     private final AddressRepository addressRepository;
     private final IdentityDocumentRepository identityDocumentRepository;
-    private final ProgramRepository programRepository;
-    private final DepartmentRepository departmentRepository;
-    private final StudentStatusRepository studentStatusRepository;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final StudentNameIndex studentNameIndex;
+    private final StudentResponseAssembler studentResponseAssembler;
+    private final String searchBackend;
+    private final boolean optimisticWrites;
+    private final SingleFlight<String, StudentResponse> studentLoads;
+    private final SingleFlight<String, String> studentJsonLoads;
     private static final Logger log = LoggerFactory.getLogger(StudentServiceImpl.class);
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public StudentServiceImpl(StudentRepository studentRepository,
                               ModelMapper modelMapper,
-                              RedisTemplate<String, Object> redisTemplate,
-                              RedissonClient redissonClient,
+                              StudentCache studentCache,
+                              StudentResponseCache studentResponseCache,
+                              StudentLockProvider studentLockProvider,
                               AddressRepository addressRepository,
                               IdentityDocumentRepository identityDocumentRepository,
-                              ProgramRepository programRepository,
-                              DepartmentRepository departmentRepository,
-                              StudentStatusRepository studentStatusRepository) {
+                              ReferenceDataDictionary referenceDataDictionary,
+                              StudentNameIndex studentNameIndex,
+                              StudentResponseAssembler studentResponseAssembler,
+                              MeterRegistry meterRegistry,
+                              @Value("${student.search.backend:index}") String searchBackend,
+                              @Value("${student.write.concurrency:lock}") String writeConcurrency) {
         this.studentRepository = studentRepository;
         this.modelMapper = modelMapper;
-        this.redisTemplate = redisTemplate;
-        this.redissonClient = redissonClient;
+        this.studentCache = studentCache;
+        this.studentResponseCache = studentResponseCache;
+        this.studentLockProvider = studentLockProvider;
         this.addressRepository = addressRepository;
         this.identityDocumentRepository = identityDocumentRepository;
-        this.programRepository = programRepository;
-        this.departmentRepository = departmentRepository;
-        this.studentStatusRepository = studentStatusRepository;
+        this.referenceDataDictionary = referenceDataDictionary;
+        this.studentNameIndex = studentNameIndex;
+        this.studentResponseAssembler = studentResponseAssembler;
+        this.searchBackend = searchBackend;
+        this.optimisticWrites = "optimistic".equals(writeConcurrency);
+        this.studentLoads = new SingleFlight<>("student", meterRegistry);
+        this.studentJsonLoads = new SingleFlight<>("student-json", meterRegistry);
     }
 
     @Override
     @Transactional
     @CacheEvict(value = "students", key = "#student.studentId")
     public StudentResponse addStudent(StudentCreationRequest student) {
-        RLock lock = redissonClient.getReadWriteLock("lock:student:" + student.getStudentId()).writeLock();
+        Lock lock = optimisticWrites ? null : studentLockProvider.getLock(student.getStudentId()).writeLock();
         boolean isLocked = false;
 
         try {
-            isLocked = lock.tryLock(10, 50, TimeUnit.SECONDS);
-            if (!isLocked) {
-                throw new RuntimeException("Error getting lock");
+            if (lock != null) {
+                isLocked = lock.tryLock(10, TimeUnit.SECONDS);
+                if (!isLocked) {
+                    throw new RuntimeException("Error getting lock");
+                }
             }
             if (studentRepository.findByStudentId(student.getStudentId()) != null) {
                 throw new InvalidDataException("Student id already exists.");
@@ -79,24 +126,24 @@ public class StudentServiceImpl implements StudentService {
                 throw new InvalidDataException("Email already exists.");
             }
 
-            DepartmentEntity departmentEntity = departmentRepository.findByName(student.getDepartment());
-            if (student.getDepartment() != null && departmentEntity == null) {
+            Long departmentId = referenceDataDictionary.departmentId(student.getDepartment());
+            if (student.getDepartment() != null && departmentId == null) {
                 throw new InvalidDataException("Department does not exist.");
             }
-            ProgramEntity programEntity = programRepository.findByName(student.getProgram());
-            if (student.getProgram() != null && programEntity == null) {
+            Long programId = referenceDataDictionary.programId(student.getProgram());
+            if (student.getProgram() != null && programId == null) {
                 throw new InvalidDataException("Program does not exist.");
             }
-            StudentStatusEntity studentStatusEntity = studentStatusRepository.findByName(student.getStatus());
-            if (student.getStatus() != null && studentStatusEntity == null) {
+            Long statusId = referenceDataDictionary.statusId(student.getStatus());
+            if (student.getStatus() != null && statusId == null) {
                 throw new InvalidDataException("Status does not exist.");
             }
 
             StudentEntity studentEntity = modelMapper.map(student, StudentEntity.class);
             studentEntity.setId(null);
-            studentEntity.setDepartment(departmentEntity.getId());
-            studentEntity.setProgram(programEntity.getId());
-            studentEntity.setStatus(studentStatusEntity.getId());
+            studentEntity.setDepartment(departmentId);
+            studentEntity.setProgram(programId);
+            studentEntity.setStatus(statusId);
             List<AddressEntity> addressEntities = student.getAddresses().stream()
                     .map(address -> modelMapper.map(address, AddressEntity.class))
                     .collect(Collectors.toList());
@@ -106,16 +153,18 @@ public class StudentServiceImpl implements StudentService {
 
             List<AddressEntity> savedAddressEntities = addressRepository.saveAll(addressEntities);
             IdentityDocumentEntity identityDocument = identityDocumentRepository.save(identityDocumentEntity);
-            StudentEntity savedStudent = studentRepository.save(studentEntity);
+            StudentEntity savedStudent = detectConflicts(() -> studentRepository.saveAndFlush(studentEntity));
 
             StudentResponse studentResponse = modelMapper.map(savedStudent, StudentResponse.class);
             studentResponse.setAddresses(savedAddressEntities);
             studentResponse.setIdentityDocument(identityDocument);
-            studentResponse.setDepartment(departmentEntity.getName());
-            studentResponse.setProgram(programEntity.getName());
-            studentResponse.setStatus(studentStatusEntity.getName());
+            studentResponse.setDepartment(student.getDepartment());
+            studentResponse.setProgram(student.getProgram());
+            studentResponse.setStatus(student.getStatus());
 
-            redisTemplate.opsForValue().set("student:" + student.getStudentId(), savedStudent);
+            AfterCommit.run(() -> studentCache.add(savedStudent));
+            AfterCommit.run(() -> studentResponseCache.evict(savedStudent.getStudentId()));
+            AfterCommit.run(() -> studentNameIndex.add(savedStudent.getStudentId(), savedStudent.getFullName()));
 
             log.info("Student added successfully.");
 
@@ -129,7 +178,7 @@ public class StudentServiceImpl implements StudentService {
             throw new RuntimeException(e.getMessage());
         }
         finally {
-            if (lock.isHeldByCurrentThread()) {
+            if (isLocked) {
                 lock.unlock();
             }
         }
@@ -138,21 +187,32 @@ public class StudentServiceImpl implements StudentService {
     @Override
     @Transactional
     @CacheEvict(value = "students", key = "#studentId")
-    public void deleteStudent(String studentId) {
-        RLock lock = redissonClient.getReadWriteLock("lock:student:" + studentId).writeLock();
+    public void deleteStudent(String studentId, Long expectedVersion) {
+        Lock lock = optimisticWrites ? null : studentLockProvider.getLock(studentId).writeLock();
+        boolean isLocked = false;
 
         try {
-            if (!lock.tryLock(10, 100, TimeUnit.SECONDS)) {
-                throw new RuntimeException("Cannot acquire lock for student " + studentId);
+            if (lock != null) {
+                isLocked = lock.tryLock(10, TimeUnit.SECONDS);
+                if (!isLocked) {
+                    throw new RuntimeException("Cannot acquire lock for student " + studentId);
+                }
             }
 
             StudentEntity student = studentRepository.findByStudentId(studentId);
             if (student != null) {
-                studentRepository.delete(student);
+                checkVersion(student, expectedVersion);
+                detectConflicts(() -> {
+                    studentRepository.delete(student);
+                    studentRepository.flush();
+                    return student;
+                });
                 addressRepository.deleteAllByStudentId(studentId);
                 identityDocumentRepository.deleteByStudentId(studentId);
 
-                redissonClient.getBucket("student:" + studentId).delete();
+                AfterCommit.run(() -> studentCache.evict(student));
+                AfterCommit.run(() -> studentResponseCache.evict(studentId));
+                AfterCommit.run(() -> studentNameIndex.remove(studentId, student.getFullName()));
 
                 log.info("Student deleted successfully.");
             } else {
@@ -166,11 +226,14 @@ public class StudentServiceImpl implements StudentService {
         } catch (InvalidDataException e) {
             log.error(e.getMessage());
             throw new InvalidDataException(e.getMessage());
+        } catch (PreconditionFailedException e) {
+            log.error(e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error deleting student.");
             throw new RuntimeException("Error deleting student.", e);
         } finally {
-            if (lock.isHeldByCurrentThread()) {
+            if (isLocked) {
                 lock.unlock();
             }
         }
@@ -180,21 +243,33 @@ public class StudentServiceImpl implements StudentService {
     @Override
     @Transactional
     @CacheEvict(value = "students", key = "#studentId")
-    public StudentResponse updateStudent(String studentId, StudentUpdateRequest updatedStudent) {
-        RLock lock = redissonClient.getReadWriteLock("lock:student:" + studentId).writeLock();
+    public StudentResponse updateStudent(String studentId, StudentUpdateRequest updatedStudent, Long expectedVersion) {
+        Lock lock = optimisticWrites ? null : studentLockProvider.getLock(studentId).writeLock();
+        boolean isLocked = false;
 
         try {
-            if (!lock.tryLock(10, 100, TimeUnit.SECONDS)) {
-                throw new RuntimeException("Cannot acquire lock for student " + studentId);
+            if (lock != null) {
+                isLocked = lock.tryLock(10, TimeUnit.SECONDS);
+                if (!isLocked) {
+                    throw new RuntimeException("Cannot acquire lock for student " + studentId);
+                }
             }
 
             StudentEntity existingStudent = studentRepository.findByStudentId(studentId);
             if (existingStudent == null) {
                 throw new InvalidDataException("Student not found.");
             }
+            checkVersion(existingStudent, expectedVersion);
 
+            String previousFullName = existingStudent.getFullName();
+            // Always bump the version, even when only addresses or the identity document change,
+            // because cached aggregates are versioned by it
+            existingStudent.setUpdatedAt(new Date());
             StudentResponse studentResponse = modelMapper.map(existingStudent, StudentResponse.class);
             updateStudentFields(existingStudent, updatedStudent, studentResponse);
+            studentResponse.setDepartment(referenceDataDictionary.departmentName(existingStudent.getDepartment()));
+            studentResponse.setProgram(referenceDataDictionary.programName(existingStudent.getProgram()));
+            studentResponse.setStatus(referenceDataDictionary.statusName(existingStudent.getStatus()));
             List <AddressEntity> savedAddressEntities = new ArrayList<>();
             IdentityDocumentEntity savedIdentityDocument = new IdentityDocumentEntity();
             if (updatedStudent.getAddresses() != null) {
@@ -213,12 +288,15 @@ public class StudentServiceImpl implements StudentService {
                 savedIdentityDocument = identityDocumentRepository.save(identityDocumentEntity);
             }
 
-            studentRepository.save(existingStudent);
+            StudentEntity savedStudent = detectConflicts(() -> studentRepository.saveAndFlush(existingStudent));
+            studentResponse.setVersion(savedStudent.getVersion());
 
             studentResponse.setAddresses(savedAddressEntities.size() != 0 ? savedAddressEntities : addressRepository.findAllByStudentId(studentId));
             studentResponse.setIdentityDocument(savedIdentityDocument.getId() != null ? savedIdentityDocument : identityDocumentRepository.findByStudentId(studentId));
 
-            redisTemplate.opsForValue().set("student:" + studentId, existingStudent);
+            AfterCommit.run(() -> studentCache.update(existingStudent));
+            AfterCommit.run(() -> studentResponseCache.evict(studentId));
+            AfterCommit.run(() -> studentNameIndex.replace(studentId, previousFullName, existingStudent.getFullName()));
 
             log.info("Student updated successfully.");
             return studentResponse;
@@ -232,142 +310,299 @@ public class StudentServiceImpl implements StudentService {
             log.error(e.getMessage());
             throw new InvalidDataException(e.getMessage());
         }
+        catch (PreconditionFailedException e) {
+            log.error(e.getMessage());
+            throw e;
+        }
         catch (Exception e) {
             log.error("Error updating student.");
             throw new RuntimeException("Error updating student.");
         }
         finally {
-            if (lock.isHeldByCurrentThread()) {
+            if (isLocked) {
                 lock.unlock();
             }
         }
     }
 
     @Override
-    public List<StudentResponse> searchStudents(String keyword) {
-        List<StudentResponse> results = new ArrayList<>();
+    public StudentPageResponse searchStudents(String keyword, String cursor, int limit) {
+        String after = CursorHelper.decode(cursor);
 
         if (keyword.matches("\\d+")) {
-            RLock lock = redissonClient.getReadWriteLock("lock:student:" + keyword).readLock();
-
-            try {
-                if (lock.tryLock(10, 100, TimeUnit.SECONDS)) {
-                    StudentEntity cachedStudent = (StudentEntity) redisTemplate.opsForValue().get("student:" + keyword);
-                    if (cachedStudent != null) {
-                        StudentResponse studentResponse = modelMapper.map(cachedStudent, StudentResponse.class);
-                        studentResponse.setAddresses(addressRepository.findAllByStudentId(cachedStudent.getStudentId()));
-                        studentResponse.setIdentityDocument(identityDocumentRepository.findByStudentId(cachedStudent.getStudentId()));
-                        studentResponse.setDepartment(departmentRepository.findById(cachedStudent.getDepartment()).get().getName());
-                        studentResponse.setProgram(programRepository.findById(cachedStudent.getProgram()).get().getName());
-                        studentResponse.setStatus(studentStatusRepository.findById(cachedStudent.getStatus()).get().getName());
-                        results.add(studentResponse);
-                        return results;
-                    }
-
-                    StudentEntity student = studentRepository.findByStudentId(keyword);
-                    if (student != null) {
-                        StudentResponse studentResponse = modelMapper.map(student, StudentResponse.class);
-                        studentResponse.setAddresses(addressRepository.findAllByStudentId(student.getStudentId()));
-                        studentResponse.setIdentityDocument(identityDocumentRepository.findByStudentId(student.getStudentId()));
-                        studentResponse.setDepartment(departmentRepository.findById(student.getDepartment()).get().getName());
-                        studentResponse.setProgram(programRepository.findById(student.getProgram()).get().getName());
-                        studentResponse.setStatus(studentStatusRepository.findById(student.getStatus()).get().getName());
-                        redisTemplate.opsForValue().set("student:" + student.getStudentId(), student);
-                        results.add(studentResponse);
-                    }
-                } else {
-                    throw new RuntimeException("Cannot acquire lock for student search: " + keyword);
-                }
-            } catch (InterruptedException e) {
-                log.error("Thread interrupted while searching student by id.");
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Thread interrupted while searching student.");
-            } finally {
-                if (lock.isHeldByCurrentThread()) {
-                    lock.unlock();
-                }
+            List<StudentResponse> results = new ArrayList<>();
+            if (!after.isEmpty()) {
+                return new StudentPageResponse(results, null);
+            }
+            StudentResponse student = studentLoads.execute(keyword, () -> findStudentById(keyword));
+            if (student != null) {
+                results.add(student);
             }
 
             log.info("Student found by id: " + keyword);
-            return results;
+            return new StudentPageResponse(results, null);
         }
 
-        RLock lock = redissonClient.getReadWriteLock("lock:student:search").readLock();
-        try {
-            if (lock.tryLock(0, 100, TimeUnit.SECONDS)) {
-                Set<String> keys = redisTemplate.keys("student:*");
-                if (keys != null) {
-                    for (String key : keys) {
-                        StudentEntity student = (StudentEntity) redisTemplate.opsForValue().get(key);
-                        if (student != null && student.getFullName().toLowerCase().contains(keyword.toLowerCase())) {
-                            StudentResponse studentResponse = modelMapper.map(student, StudentResponse.class);
-                            studentResponse.setAddresses(addressRepository.findAllByStudentId(student.getStudentId()));
-                            studentResponse.setIdentityDocument(identityDocumentRepository.findByStudentId(student.getStudentId()));
-                            studentResponse.setDepartment(departmentRepository.findById(student.getDepartment()).get().getName());
-                            studentResponse.setProgram(programRepository.findById(student.getProgram()).get().getName());
-                            studentResponse.setStatus(studentStatusRepository.findById(student.getStatus()).get().getName());
-                            results.add(studentResponse);
-                        }
-                    }
-                }
-
-                if (results.isEmpty()) {
-                    List<StudentEntity> studentEntities = studentRepository.findByStudentIdOrFullName(keyword);
-
-                    for (StudentEntity student : studentEntities) {
-                        StudentResponse studentResponse = modelMapper.map(student, StudentResponse.class);
-                        studentResponse.setAddresses(addressRepository.findAllByStudentId(student.getStudentId()));
-                        studentResponse.setIdentityDocument(identityDocumentRepository.findByStudentId(student.getStudentId()));
-                        studentResponse.setDepartment(departmentRepository.findById(student.getDepartment()).get().getName());
-                        studentResponse.setProgram(programRepository.findById(student.getProgram()).get().getName());
-                        studentResponse.setStatus(studentStatusRepository.findById(student.getStatus()).get().getName());
-                        results.add(studentResponse);
-                        redisTemplate.opsForValue().set("student:" + student.getStudentId(), student);
-                    }
-                }
-            } else {
-                throw new RuntimeException("Cannot acquire lock for student name search: " + keyword);
-            }
-        } catch (InterruptedException e) {
-            log.error("Thread interrupted while searching students by name.");
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Thread interrupted while searching students by name.");
-        } finally {
-            if (lock.isHeldByCurrentThread()) {
-                lock.unlock();
+        // One backend per configuration, so a cursor is always read by the backend that wrote it. The index
+        // and the LIKE query share the student id keyset order, which lets the index fall back to LIKE.
+        String searchKeyword = SearchNormalizer.normalize(keyword);
+        StudentPageResponse page;
+        if ("trigram".equals(searchBackend)) {
+            page = searchRanked(searchKeyword, after, limit);
+        } else if ("index".equals(searchBackend) && studentNameIndex.isComplete() && studentNameIndex.supports(searchKeyword)) {
+            page = toPage(findIndexedStudents(searchKeyword, after, limit + 1), limit);
+        } else {
+            List<StudentEntity> students = studentRepository.findByStudentIdOrFullName(searchKeyword, after, PageRequest.of(0, limit + 1));
+
+            // The name index is only written after commits and by its backfill; adding a row read here could
+            // restore a name that a concurrent update or delete has just removed
+            for (StudentEntity student : students) {
+                studentCache.put(student);
             }
+            page = toPage(students, limit);
         }
 
         log.info("Students found by name: " + keyword);
-        return results;
+        return page;
+    }
+
+    @Override
+    public String findStudentJson(String studentId) {
+        String json = studentResponseCache.get(studentId);
+        if (json != null) {
+            return json;
+        }
+
+        return studentJsonLoads.execute(studentId, () -> {
+            StudentResponse student = findStudentById(studentId);
+            return student != null ? studentResponseCache.put(student) : null;
+        });
     }
 
-    public List<StudentResponse> searchStudentsByDepartmentAndName(String keyword, String department) {
-        List<StudentResponse> results = new ArrayList<>();
+    public StudentPageResponse searchStudentsByDepartmentAndName(String keyword, String department, String cursor, int limit) {
+        String after = CursorHelper.decode(cursor);
+        List<StudentEntity> students = new ArrayList<>();
 
         if (department != null && !department.isEmpty()) {
-            List<StudentEntity> students;
-            DepartmentEntity departmentEntity = departmentRepository.findByName(department);
+            Long departmentId = referenceDataDictionary.departmentId(department);
+            if (departmentId == null) {
+                throw new InvalidDataException("Department does not exist.");
+            }
+            Pageable pageable = PageRequest.of(0, limit + 1);
 
             if (keyword != null && !keyword.isEmpty()) {
-                students = studentRepository.findByDepartmentAndFullNameContainingIgnoreCase(departmentEntity.getId(), keyword);
+                students = studentRepository.findByDepartmentAndFullNameSearchContainingAndStudentIdGreaterThanOrderByStudentIdAsc(
+                        departmentId, SearchNormalizer.normalize(keyword), after, pageable);
             } else {
-                students = studentRepository.findByDepartment(departmentEntity.getId());
+                students = studentRepository.findByDepartmentAndStudentIdGreaterThanOrderByStudentIdAsc(departmentId, after, pageable);
             }
+        }
 
-            for (StudentEntity student : students) {
-                StudentResponse studentResponse = modelMapper.map(student, StudentResponse.class);
-                studentResponse.setAddresses(addressRepository.findAllByStudentId(student.getStudentId()));
-                studentResponse.setIdentityDocument(identityDocumentRepository.findByStudentId(student.getStudentId()));
-                studentResponse.setDepartment(departmentRepository.findById(student.getDepartment()).get().getName());
-                studentResponse.setProgram(programRepository.findById(student.getProgram()).get().getName());
-                studentResponse.setStatus(studentStatusRepository.findById(student.getStatus()).get().getName());
-                results.add(studentResponse);
+        log.info("Students found by department: " + department);
+        return toPage(students, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamStudents(String keyword, Consumer<StudentResponse> consumer) {
+        // Numeric keywords are student ids, looked up exactly as in searchStudents
+        if (keyword.matches("\\d+")) {
+            StudentResponse student = studentLoads.execute(keyword, () -> findStudentById(keyword));
+            if (student != null) {
+                consumer.accept(student);
             }
+            log.info("Student streamed by id: " + keyword);
+            return;
         }
 
-        log.info("Students found by department: " + department);
-        return results;
+        try (Stream<StudentEntity> students = studentRepository.streamByStudentIdOrFullName(SearchNormalizer.normalize(keyword))) {
+            streamInChunks(students, consumer);
+        }
+        log.info("Students streamed by keyword: " + keyword);
+    }
+
+    @Override
+    public Long findDepartmentId(String department) {
+        Long departmentId = referenceDataDictionary.departmentId(department);
+        if (departmentId == null) {
+            throw new InvalidDataException("Department does not exist.");
+        }
+        return departmentId;
+    }
+
+    /**
+     * Streams the students of a department resolved beforehand with {@link #findDepartmentId}, so a
+     * missing department is reported before the response is committed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamStudentsByDepartmentAndName(String keyword, Long departmentId, Consumer<StudentResponse> consumer) {
+        try (Stream<StudentEntity> students = keyword != null && !keyword.isEmpty()
+                ? studentRepository.streamByDepartmentAndFullNameSearchContainingOrderByStudentIdAsc(departmentId, SearchNormalizer.normalize(keyword))
+                : studentRepository.streamByDepartmentOrderByStudentIdAsc(departmentId)) {
+            streamInChunks(students, consumer);
+        }
+        log.info("Students streamed by department: " + departmentId);
+    }
+
+    /**
+     * Rejects a write whose If-Match version is not the current version of the student.
+     */
+    private void checkVersion(StudentEntity student, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(student.getVersion())) {
+            throw new PreconditionFailedException("Student has been modified, current version is " + student.getVersion() + ".");
+        }
+    }
+
+    /**
+     * Runs a flushing write and reports concurrent modifications and unique constraint violations on
+     * student_id or email as conflicts. Without write locks these are how racing writers are detected.
+     */
+    private <T> T detectConflicts(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (OptimisticLockingFailureException e) {
+            throw new InvalidDataException("Student was modified concurrently, please reload and try again.");
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidDataException("Student id or email already exists.");
+        }
+    }
+
+    private StudentResponse findStudentById(String studentId) {
+        StudentEntity student = studentCache.get(studentId);
+        if (student == null) {
+            student = studentRepository.findByStudentId(studentId);
+            if (student == null) {
+                return null;
+            }
+            studentCache.put(student);
+        }
+        return studentResponseAssembler.assemble(student);
+    }
+
+    /**
+     * Writes every student as CSV while reading them through a database cursor. Department and status
+     * ids are resolved from the in-memory reference data, so memory use stays flat whatever the table size.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStudentsCsv(Writer writer) throws IOException {
+        long count = 0;
+        try (Stream<Object[]> rows = studentRepository.streamForExport()) {
+            CSVPrinter csvPrinter = CsvHelper.studentCsvPrinter(writer);
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                csvPrinter.printRecord(row[0], row[1], row[2], row[3],
+                        row[4] != null ? referenceDataDictionary.departmentName((Long) row[4]) : null,
+                        row[5] != null ? referenceDataDictionary.statusName((Long) row[5]) : null);
+                count++;
+            }
+            csvPrinter.flush();
+        }
+        log.info("Students exported to CSV: " + count);
+    }
+
+    /**
+     * Enriches streamed rows a chunk at a time and clears the persistence context after each chunk,
+     * so memory use does not depend on the size of the result set.
+     */
+    private void streamInChunks(Stream<StudentEntity> students, Consumer<StudentResponse> consumer) {
+        List<StudentEntity> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        Iterator<StudentEntity> iterator = students.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == STREAM_CHUNK_SIZE) {
+                studentResponseAssembler.assemble(chunk).forEach(consumer);
+                chunk.clear();
+                entityManager.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            studentResponseAssembler.assemble(chunk).forEach(consumer);
+        }
+    }
+
+    /**
+     * Resolves up to {@code max} students matching the normalized keyword through the name index, ordered by
+     * student id and starting after the cursor. Only called when the index is complete, so an empty result
+     * means there are no more matches.
+     */
+    private List<StudentEntity> findIndexedStudents(String keyword, String after, int max) {
+        Set<String> studentIds = studentNameIndex.search(keyword);
+        List<String> candidateIds = studentIds.stream()
+                .filter(id -> id.compareTo(after) > 0)
+                .sorted()
+                .collect(Collectors.toList());
+        List<StudentEntity> students = new ArrayList<>();
+        int position = 0;
+        while (students.size() < max && position < candidateIds.size()) {
+            List<String> batch = candidateIds.subList(position, Math.min(candidateIds.size(), position + max - students.size()));
+            position += batch.size();
+            // The index decides what matches, e.g. the Redis index only matches token prefixes
+            students.addAll(loadStudents(batch));
+        }
+        return students;
+    }
+
+    /**
+     * Trigram backend: ranks matches by pg_trgm similarity. The cursor holds the rank and
+     * student id of the last row, so the next page continues after it in rank order.
+     */
+    private StudentPageResponse searchRanked(String keyword, String after, int limit) {
+        float afterRank = 0f;
+        String afterStudentId = "";
+        if (!after.isEmpty()) {
+            int separator = after.indexOf(':');
+            try {
+                afterRank = Float.parseFloat(after.substring(0, separator));
+                afterStudentId = after.substring(separator + 1);
+            } catch (RuntimeException e) {
+                throw new InvalidDataException("Invalid cursor.");
+            }
+        }
+
+        List<Object[]> rows = studentRepository.searchRankedStudentIds(keyword, afterStudentId, afterRank, limit + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Object[] last = rows.get(limit - 1);
+            nextCursor = CursorHelper.encode(((Number) last[1]).floatValue() + ":" + last[0]);
+        }
+
+        List<StudentEntity> students = loadStudents(rows.stream().map(row -> (String) row[0]).collect(Collectors.toList()));
+        return new StudentPageResponse(studentResponseAssembler.assemble(students), nextCursor);
+    }
+
+    private List<StudentEntity> loadStudents(List<String> studentIds) {
+        Map<String, StudentEntity> students = studentCache.getAll(studentIds);
+        List<String> missingIds = studentIds.stream()
+                .filter(id -> !students.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            for (StudentEntity student : studentRepository.findAllByStudentIdIn(missingIds)) {
+                studentCache.put(student);
+                students.put(student.getStudentId(), student);
+            }
+        }
+
+        List<StudentEntity> ordered = new ArrayList<>();
+        for (String studentId : studentIds) {
+            StudentEntity student = students.get(studentId);
+            if (student != null) {
+                ordered.add(student);
+            }
+        }
+        return ordered;
+    }
+
+    private StudentPageResponse toPage(List<StudentEntity> students, int limit) {
+        String nextCursor = null;
+        if (students.size() > limit) {
+            students = new ArrayList<>(students.subList(0, limit));
+            nextCursor = CursorHelper.encode(students.get(limit - 1).getStudentId());
+        }
+        return new StudentPageResponse(studentResponseAssembler.assemble(students), nextCursor);
     }
 
     public void updateStudentFields(StudentEntity existingStudent, StudentUpdateRequest updatedStudent, StudentResponse studentResponse) {
@@ -383,29 +618,26 @@ public class StudentServiceImpl implements StudentService {
             existingStudent.setGender(updatedStudent.getGender());
             studentResponse.setGender(updatedStudent.getGender());
         }
-        DepartmentEntity departmentEntity = departmentRepository.findByName(updatedStudent.getDepartment());
-        if (updatedStudent.getDepartment() != null && departmentEntity != null) {
-            existingStudent.setDepartment(departmentEntity.getId());
-            studentResponse.setDepartment(departmentEntity.getName());
+        Long departmentId = referenceDataDictionary.departmentId(updatedStudent.getDepartment());
+        if (departmentId != null) {
+            existingStudent.setDepartment(departmentId);
         }
         if (updatedStudent.getCourse() != null) {
             existingStudent.setCourse(updatedStudent.getCourse());
             studentResponse.setCourse(updatedStudent.getCourse());
         }
-        ProgramEntity programEntity = programRepository.findByName(updatedStudent.getProgram());
-        if (updatedStudent.getProgram() != null && programEntity != null) {
-            existingStudent.setProgram(programEntity.getId());
-            studentResponse.setProgram(programEntity.getName());
+        Long programId = referenceDataDictionary.programId(updatedStudent.getProgram());
+        if (programId != null) {
+            existingStudent.setProgram(programId);
         }
 
         if (updatedStudent.getPhoneNumber() != null) {
             existingStudent.setPhoneNumber(updatedStudent.getPhoneNumber());
             studentResponse.setPhoneNumber(updatedStudent.getPhoneNumber());
         }
-        StudentStatusEntity studentStatusEntity = studentStatusRepository.findByName(updatedStudent.getStatus());
-        if (updatedStudent.getStatus() != null && studentStatusEntity != null) {
-            existingStudent.setStatus(studentStatusEntity.getId());
-            studentResponse.setStatus(studentStatusEntity.getName());
+        Long statusId = referenceDataDictionary.statusId(updatedStudent.getStatus());
+        if (statusId != null) {
+            existingStudent.setStatus(statusId);
         }
     }
 
@@ -1,7 +1,10 @@
 package com.example.sixt.services.impl;
 
+import com.example.sixt.caches.ReferenceDataDictionary;
 import com.example.sixt.controllers.requests.StatusCreationRequest;
+import com.example.sixt.controllers.responses.ImportReport;
 import com.example.sixt.exceptions.InvalidDataException;
+import com.example.sixt.helpers.AfterCommit;
 import com.example.sixt.models.StudentStatusEntity;
 import com.example.sixt.repositories.StudentStatusRepository;
 import com.example.sixt.services.StudentStatusService;
@@ -10,18 +13,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @Service
 public class StudentStatusServiceImpl implements StudentStatusService {
     private final StudentStatusRepository studentStatusRepository;
     private final ModelMapper modelMapper;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final ReferenceDataImporter referenceDataImporter;
     private static final Logger log = LoggerFactory.getLogger(StudentStatusServiceImpl.class);
 
     @Autowired
     public StudentStatusServiceImpl(StudentStatusRepository studentStatusRepository,
-                                    ModelMapper modelMapper) {
+                                    ModelMapper modelMapper,
+                                    ReferenceDataDictionary referenceDataDictionary,
+                                    ReferenceDataImporter referenceDataImporter) {
         this.studentStatusRepository = studentStatusRepository;
         this.modelMapper = modelMapper;
+        this.referenceDataDictionary = referenceDataDictionary;
+        this.referenceDataImporter = referenceDataImporter;
     }
 
     @Override
@@ -30,6 +43,7 @@ public class StudentStatusServiceImpl implements StudentStatusService {
             StudentStatusEntity studentStatusEntity = studentStatusRepository.findById(id).orElseThrow(() -> new InvalidDataException("Student status not found"));
             studentStatusEntity.setName(status);
             StudentStatusEntity savedStatus = studentStatusRepository.save(studentStatusEntity);
+            AfterCommit.run(referenceDataDictionary::refresh);
             log.info("Student status updated: {}", savedStatus);
             return savedStatus;
         }
@@ -52,6 +66,7 @@ public class StudentStatusServiceImpl implements StudentStatusService {
             StudentStatusEntity studentStatusEntity = modelMapper.map(status, StudentStatusEntity.class);
 
             StudentStatusEntity savedStatus = studentStatusRepository.save(studentStatusEntity);
+            AfterCommit.run(referenceDataDictionary::refresh);
             log.info("Student status added: {}", savedStatus);
 
             return savedStatus;
@@ -71,4 +86,11 @@ public class StudentStatusServiceImpl implements StudentStatusService {
         log.info("Getting student status by id: {}", id);
         return studentStatusRepository.findById(id).orElseThrow(() -> new InvalidDataException("Student status not found"));
     }
+
+    @Override
+    public ImportReport importCsv(MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return referenceDataImporter.importCsv(ReferenceTable.STUDENT_STATUSES, input);
+        }
+    }
 }
@@ -0,0 +1,10 @@
+-- Runs after Hibernate has created the id sequences (spring.jpa.defer-datasource-initialization).
+-- Tables created with IDENTITY ids already hold rows; move each sequence past the highest id so the
+-- pooled blocks (INCREMENT BY 50, the next block ends at last_value + 50) never reuse an existing id.
+-- Idempotent: a sequence already past its table's ids is left alone.
+SELECT setval('students_seq', m.max_id, true) FROM (SELECT MAX(id) AS max_id FROM students) m, students_seq s WHERE m.max_id IS NOT NULL AND s.last_value <= m.max_id;
+SELECT setval('addresses_seq', m.max_id, true) FROM (SELECT MAX(id) AS max_id FROM addresses) m, addresses_seq s WHERE m.max_id IS NOT NULL AND s.last_value <= m.max_id;
+SELECT setval('identity_documents_seq', m.max_id, true) FROM (SELECT MAX(id) AS max_id FROM identity_documents) m, identity_documents_seq s WHERE m.max_id IS NOT NULL AND s.last_value <= m.max_id;
+SELECT setval('departments_seq', m.max_id, true) FROM (SELECT MAX(id) AS max_id FROM departments) m, departments_seq s WHERE m.max_id IS NOT NULL AND s.last_value <= m.max_id;
+SELECT setval('programs_seq', m.max_id, true) FROM (SELECT MAX(id) AS max_id FROM programs) m, programs_seq s WHERE m.max_id IS NOT NULL AND s.last_value <= m.max_id;
+SELECT setval('student_statuses_seq', m.max_id, true) FROM (SELECT MAX(id) AS max_id FROM student_statuses) m, student_statuses_seq s WHERE m.max_id IS NOT NULL AND s.last_value <= m.max_id;
@@ -0,0 +1,2 @@
+-- The lower(full_name) trigram index was replaced by idx_students_full_name_search_trgm on full_name_search.
+DROP INDEX IF EXISTS idx_students_full_name_trgm;
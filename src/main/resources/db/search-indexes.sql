@@ -0,0 +1,8 @@
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization).
+-- Every statement must be idempotent, the script runs on each startup. Statements that drop or rewrite
+-- schema objects belong in db/migrations/, which OneOffMigrations applies once per database.
+
+-- Trigram indexes for substring search on students
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_students_full_name_search_trgm ON students USING gin (full_name_search gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_students_student_id_trgm ON students USING gin (student_id gin_trgm_ops);
@@ -0,0 +1,74 @@
+package com.example.sixt.caches;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+	private static final int CALLERS = 8;
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SingleFlight<String, String> flight = new SingleFlight<>("test", meterRegistry);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < CALLERS; i++) {
+				results.add(executor.submit(() -> flight.execute("22120001", () -> {
+					loads.incrementAndGet();
+					await(release);
+					return "loaded";
+				})));
+			}
+			// Hold the load until every other caller is waiting on it
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (meterRegistry.counter("student.lookup.coalesced", "flight", "test").count() < CALLERS - 1) {
+				assertTrue(System.nanoTime() < deadline, "callers did not coalesce");
+				Thread.sleep(5);
+			}
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertEquals("loaded", result.get(10, TimeUnit.SECONDS));
+			}
+			assertEquals(1, loads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void failedLoadIsNotCached() {
+		SingleFlight<String, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+
+		assertThrows(IllegalStateException.class, () -> flight.execute("22120001", () -> {
+			throw new IllegalStateException("database down");
+		}));
+		assertEquals("loaded", flight.execute("22120001", () -> "loaded"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.sixt.caches;
+
+import com.example.sixt.commons.Gender;
+import com.example.sixt.models.StudentEntity;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StudentBinaryRedisSerializerTest {
+
+	@Test
+	void roundTripsPlainValues() {
+		StudentBinaryRedisSerializer serializer = new StudentBinaryRedisSerializer(-1);
+		StudentEntity student = student("Nguyễn Văn A");
+
+		byte[] bytes = serializer.serialize(student);
+
+		assertEquals(StudentBinaryRedisSerializer.FORMAT_PLAIN, bytes[0]);
+		assertStudent(student, (StudentEntity) serializer.deserialize(bytes));
+	}
+
+	@Test
+	void roundTripsCompressedValues() {
+		StudentBinaryRedisSerializer serializer = new StudentBinaryRedisSerializer(64);
+		StudentEntity student = student("Nguyễn Văn A ".repeat(20).trim());
+
+		byte[] bytes = serializer.serialize(student);
+
+		assertEquals(StudentBinaryRedisSerializer.FORMAT_LZ4, bytes[0]);
+		assertStudent(student, (StudentEntity) serializer.deserialize(bytes));
+	}
+
+	@Test
+	void olderSchemaVersionIsAMiss() {
+		StudentBinaryRedisSerializer serializer = new StudentBinaryRedisSerializer(-1);
+		byte[] bytes = serializer.serialize(student("Nguyễn Văn A"));
+		bytes[1] = StudentBinaryRedisSerializer.SCHEMA_VERSION - 1;
+
+		assertNull(serializer.deserialize(bytes));
+	}
+
+	@Test
+	void readsLegacyJson() {
+		StudentBinaryRedisSerializer serializer = new StudentBinaryRedisSerializer(-1);
+		byte[] json = "{\"id\":7,\"studentId\":\"22120001\",\"fullName\":\"Nguyễn Văn A\",\"version\":3}".getBytes(StandardCharsets.UTF_8);
+
+		StudentEntity student = (StudentEntity) serializer.deserialize(json);
+
+		assertEquals("22120001", student.getStudentId());
+		assertEquals(3L, student.getVersion());
+		assertEquals("nguyen van a", student.getFullNameSearch());
+	}
+
+	@Test
+	void emptyValueIsAMiss() {
+		assertNull(new StudentBinaryRedisSerializer(-1).deserialize(new byte[0]));
+	}
+
+	private static StudentEntity student(String fullName) {
+		StudentEntity student = new StudentEntity();
+		student.setId(7L);
+		student.setStudentId("22120001");
+		student.setFullName(fullName);
+		student.setBirthday(new Date(946684800000L));
+		student.setGender(Gender.values()[0]);
+		student.setDepartment(2L);
+		student.setEmail("a@example.com");
+		student.setVersion(3L);
+		return student;
+	}
+
+	private static void assertStudent(StudentEntity expected, StudentEntity actual) {
+		assertEquals(expected.getId(), actual.getId());
+		assertEquals(expected.getStudentId(), actual.getStudentId());
+		assertEquals(expected.getFullName(), actual.getFullName());
+		assertEquals(expected.getFullNameSearch(), actual.getFullNameSearch());
+		assertEquals(expected.getBirthday(), actual.getBirthday());
+		assertEquals(expected.getGender(), actual.getGender());
+		assertEquals(expected.getDepartment(), actual.getDepartment());
+		assertNull(actual.getProgram());
+		assertEquals(expected.getEmail(), actual.getEmail());
+		assertEquals(expected.getVersion(), actual.getVersion());
+	}
+}
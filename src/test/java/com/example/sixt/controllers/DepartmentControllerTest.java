@@ -0,0 +1,29 @@
+package com.example.sixt.controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DepartmentControllerTest {
+
+	@Test
+	void acceptsListedGzip() {
+		assertTrue(DepartmentController.acceptsGzip("gzip"));
+		assertTrue(DepartmentController.acceptsGzip("br, GZIP;q=0.5"));
+		assertTrue(DepartmentController.acceptsGzip("identity, *"));
+	}
+
+	@Test
+	void rejectsGzipWithZeroQuality() {
+		assertFalse(DepartmentController.acceptsGzip("gzip;q=0"));
+		assertFalse(DepartmentController.acceptsGzip("gzip; q=0.0, *"));
+		assertFalse(DepartmentController.acceptsGzip("br, *;q=0"));
+	}
+
+	@Test
+	void rejectsMissingGzip() {
+		assertFalse(DepartmentController.acceptsGzip(null));
+		assertFalse(DepartmentController.acceptsGzip("br, deflate"));
+	}
+}
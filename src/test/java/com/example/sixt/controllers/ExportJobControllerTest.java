@@ -0,0 +1,47 @@
+package com.example.sixt.controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExportJobControllerTest {
+	private static final String ETAG = "\"job-1\"";
+
+	@Test
+	void parsesBoundedRanges() {
+		assertArrayEquals(new long[]{0, 99}, ExportJobController.parseRange("bytes=0-99", 1000));
+		assertArrayEquals(new long[]{900, 999}, ExportJobController.parseRange("bytes=900-", 1000));
+		assertArrayEquals(new long[]{900, 999}, ExportJobController.parseRange("bytes=900-5000", 1000));
+	}
+
+	@Test
+	void parsesSuffixRanges() {
+		assertArrayEquals(new long[]{900, 999}, ExportJobController.parseRange("bytes=-100", 1000));
+		assertArrayEquals(new long[]{0, 999}, ExportJobController.parseRange("bytes=-5000", 1000));
+		assertEquals(0, ExportJobController.parseRange("bytes=-0", 1000).length);
+	}
+
+	@Test
+	void startPastTheEndIsNotSatisfiable() {
+		assertEquals(0, ExportJobController.parseRange("bytes=1000-", 1000).length);
+		assertEquals(0, ExportJobController.parseRange("bytes=2000-3000", 1000).length);
+	}
+
+	@Test
+	void ignoresMultipleAndMalformedRanges() {
+		assertNull(ExportJobController.parseRange("bytes=0-9,20-29", 1000));
+		assertNull(ExportJobController.parseRange("items=0-9", 1000));
+		assertNull(ExportJobController.parseRange("bytes=9-0", 1000));
+		assertNull(ExportJobController.parseRange("bytes=a-b", 1000));
+	}
+
+	@Test
+	void ifRangeMismatchSendsTheWholeFile() {
+		assertNull(ExportJobController.requestedRange("bytes=0-99", "\"job-2\"", ETAG, 1000));
+		assertArrayEquals(new long[]{0, 99}, ExportJobController.requestedRange("bytes=0-99", ETAG, ETAG, 1000));
+		assertArrayEquals(new long[]{0, 99}, ExportJobController.requestedRange("bytes=0-99", null, ETAG, 1000));
+		assertNull(ExportJobController.requestedRange(null, ETAG, ETAG, 1000));
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.sixt.controllers;
+
+import com.example.sixt.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StudentControllerTest {
+
+	@Test
+	void ifMatchIsOptional() {
+		assertNull(StudentController.parseIfMatch(null));
+		assertNull(StudentController.parseIfMatch(" "));
+		assertNull(StudentController.parseIfMatch("*"));
+	}
+
+	@Test
+	void ifMatchReadsStrongAndWeakVersions() {
+		assertEquals(3L, StudentController.parseIfMatch("\"3\""));
+		assertEquals(3L, StudentController.parseIfMatch("W/\"3\""));
+		assertEquals(12L, StudentController.parseIfMatch(" 12 "));
+	}
+
+	@Test
+	void malformedIfMatchIsABadRequest() {
+		assertThrows(BadRequestException.class, () -> StudentController.parseIfMatch("\"abc\""));
+		assertThrows(BadRequestException.class, () -> StudentController.parseIfMatch("W/"));
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.example.sixt.helpers;
+
+import com.example.sixt.exceptions.InvalidDataException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorHelperTest {
+
+	@Test
+	void roundTripsStudentIds() {
+		for (String studentId : new String[]{"22120001", "SV-001", "Nguyễn/Văn?A"}) {
+			assertEquals(studentId, CursorHelper.decode(CursorHelper.encode(studentId)));
+		}
+	}
+
+	@Test
+	void cursorsAreUrlSafe() {
+		String cursor = CursorHelper.encode("??>>~~");
+		assertEquals(cursor, cursor.replaceAll("[^A-Za-z0-9_-]", ""));
+	}
+
+	@Test
+	void missingCursorStartsAtTheFirstPage() {
+		assertNull(CursorHelper.encode(null));
+		assertEquals("", CursorHelper.decode(null));
+		assertEquals("", CursorHelper.decode(""));
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		assertThrows(InvalidDataException.class, () -> CursorHelper.decode("not a cursor!"));
+	}
+
+}
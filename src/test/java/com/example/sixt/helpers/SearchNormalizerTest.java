@@ -0,0 +1,30 @@
+package com.example.sixt.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchNormalizerTest {
+
+	@Test
+	void stripsVietnameseAccents() {
+		assertEquals("nguyen van a", SearchNormalizer.normalize("Nguyễn Văn A"));
+		assertEquals("tran thi thuy duong", SearchNormalizer.normalize("Trần Thị Thùy Dương"));
+	}
+
+	@Test
+	void mapsDStrokeToD() {
+		assertEquals("dang dinh", SearchNormalizer.normalize("Đặng đình"));
+	}
+
+	@Test
+	void collapsesWhitespace() {
+		assertEquals("le minh", SearchNormalizer.normalize("  Lê \t  Minh\n"));
+	}
+
+	@Test
+	void keepsNull() {
+		assertNull(SearchNormalizer.normalize(null));
+	}
+}
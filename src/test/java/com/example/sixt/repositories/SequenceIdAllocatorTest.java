@@ -0,0 +1,54 @@
+package com.example.sixt.repositories;
+
+import com.example.sixt.models.IdSequences;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SequenceIdAllocatorTest {
+	private static final int SIZE = IdSequences.ALLOCATION_SIZE;
+
+	@Test
+	void reservesOneBlockPerAllocationSize() {
+		assertEquals(1, SequenceIdAllocator.blocks(1));
+		assertEquals(1, SequenceIdAllocator.blocks(SIZE));
+		assertEquals(2, SequenceIdAllocator.blocks(SIZE + 1));
+		assertEquals(3, SequenceIdAllocator.blocks(3 * SIZE));
+	}
+
+	@Test
+	void fillsTheIdsEndingAtEachHighValue() {
+		long[] ids = new long[SIZE + 2];
+
+		int position = SequenceIdAllocator.fill(ids, 0, List.of(2L * SIZE, 5L * SIZE));
+
+		assertEquals(ids.length, position);
+		assertEquals(SIZE + 1, ids[0]);
+		assertEquals(2L * SIZE, ids[SIZE - 1]);
+		assertEquals(4L * SIZE + 1, ids[SIZE]);
+		assertEquals(4L * SIZE + 2, ids[SIZE + 1]);
+	}
+
+	@Test
+	void freshSequenceReservesOnlyPositiveIds() {
+		long[] ids = new long[3];
+
+		int position = SequenceIdAllocator.fill(ids, 0, List.of(1L));
+
+		assertEquals(1, position);
+		assertEquals(1, ids[0]);
+	}
+
+	@Test
+	void continuesFromThePosition() {
+		long[] ids = new long[]{1, 0, 0};
+
+		int position = SequenceIdAllocator.fill(ids, 1, List.of((long) SIZE + 1));
+
+		assertEquals(3, position);
+		assertEquals(2, ids[1]);
+		assertEquals(3, ids[2]);
+	}
+}